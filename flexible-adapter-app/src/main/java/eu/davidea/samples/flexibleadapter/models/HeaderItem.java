@@ -12,7 +12,7 @@ import java.util.List;
 
 import eu.davidea.flexibleadapter.FlexibleAdapter;
 import eu.davidea.flexibleadapter.items.AbstractHeaderItem;
-import eu.davidea.flexibleadapter.items.IFilterable;
+import eu.davidea.flexibleadapter.items.ISearchable;
 import eu.davidea.flexibleadapter.items.ISectionable;
 import eu.davidea.samples.flexibleadapter.R;
 import eu.davidea.viewholders.FlexibleViewHolder;
@@ -22,7 +22,7 @@ import eu.davidea.viewholders.FlexibleViewHolder;
  * <p>A Section should not contain others Sections!</p>
  * Headers are not Sectionable!
  */
-public class HeaderItem extends AbstractHeaderItem<HeaderItem.HeaderViewHolder> implements IFilterable {
+public class HeaderItem extends AbstractHeaderItem<HeaderItem.HeaderViewHolder> implements ISearchable {
 
 	private static final long serialVersionUID = -7408637077727563374L;
 
@@ -45,6 +45,11 @@ public class HeaderItem extends AbstractHeaderItem<HeaderItem.HeaderViewHolder>
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return getId().hashCode();
+	}
+
 	public String getId() {
 		return id;
 	}
@@ -98,6 +103,11 @@ public class HeaderItem extends AbstractHeaderItem<HeaderItem.HeaderViewHolder>
 		return getTitle() != null && getTitle().toLowerCase().trim().contains(constraint);
 	}
 
+	@Override
+	public String getSearchableText() {
+		return getTitle();
+	}
+
 	static class HeaderViewHolder extends FlexibleViewHolder {
 
 		public TextView mTitle;
@@ -35,6 +35,11 @@ public class InstagramHeaderItem extends AbstractHeaderItem<InstagramHeaderItem.
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return getId().hashCode();
+	}
+
 	public String getId() {
 		return id;
 	}
@@ -39,6 +39,11 @@ public class InstagramItem extends AbstractSectionableItem<InstagramItem.ViewHol
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return id.hashCode();
+	}
+
 	public InstagramItem withImageUrl(String url) {
 		this.url = url;
 		return this;
@@ -14,7 +14,7 @@ import java.util.List;
 
 import eu.davidea.flexibleadapter.FlexibleAdapter;
 import eu.davidea.flexibleadapter.items.IExpandable;
-import eu.davidea.flexibleadapter.items.IFilterable;
+import eu.davidea.flexibleadapter.items.ISearchable;
 import eu.davidea.flexibleadapter.items.ISectionable;
 import eu.davidea.flexibleadapter.utils.Utils;
 import eu.davidea.flipview.FlipView;
@@ -27,7 +27,7 @@ import eu.davidea.viewholders.ExpandableViewHolder;
  * implemented methods (getter and setters).
  */
 public class SimpleItem extends AbstractModelItem<SimpleItem.ParentViewHolder>
-		implements ISectionable<SimpleItem.ParentViewHolder, HeaderItem>, IFilterable, Serializable {
+		implements ISectionable<SimpleItem.ParentViewHolder, HeaderItem>, ISearchable, Serializable {
 
 	private static final long serialVersionUID = -6882745111884490060L;
 
@@ -132,6 +132,11 @@ public class SimpleItem extends AbstractModelItem<SimpleItem.ParentViewHolder>
 				getSubtitle() != null && getSubtitle().toLowerCase().trim().contains(constraint);
 	}
 
+	@Override
+	public String getSearchableText() {
+		return getTitle() + "\n" + getSubtitle();
+	}
+
 	/**
 	 * This ViewHolder is expandable and collapsible.
 	 */
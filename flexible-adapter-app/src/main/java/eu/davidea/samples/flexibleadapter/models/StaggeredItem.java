@@ -44,6 +44,11 @@ public class StaggeredItem extends AbstractSectionableItem<StaggeredItem.ViewHol
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return id;
+	}
+
 	public int getId() {
 		return id;
 	}
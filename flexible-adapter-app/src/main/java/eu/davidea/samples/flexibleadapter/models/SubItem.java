@@ -10,8 +10,8 @@ import android.widget.TextView;
 import java.util.List;
 
 import eu.davidea.flexibleadapter.FlexibleAdapter;
-import eu.davidea.flexibleadapter.items.IFilterable;
 import eu.davidea.flexibleadapter.items.IHeader;
+import eu.davidea.flexibleadapter.items.ISearchable;
 import eu.davidea.flexibleadapter.items.ISectionable;
 import eu.davidea.flexibleadapter.utils.Utils;
 import eu.davidea.samples.flexibleadapter.R;
@@ -23,7 +23,7 @@ import eu.davidea.viewholders.FlexibleViewHolder;
  * implemented methods (getter and setters).
  */
 public class SubItem extends AbstractModelItem<SubItem.ChildViewHolder>
-		implements ISectionable<SubItem.ChildViewHolder, IHeader>, IFilterable {
+		implements ISectionable<SubItem.ChildViewHolder, IHeader>, ISearchable {
 
 	private static final long serialVersionUID = 2519281529221244210L;
 
@@ -87,6 +87,11 @@ public class SubItem extends AbstractModelItem<SubItem.ChildViewHolder>
 		return getTitle() != null && getTitle().toLowerCase().trim().contains(constraint);
 	}
 
+	@Override
+	public String getSearchableText() {
+		return getTitle();
+	}
+
 	/**
 	 * Provide a reference to the views for each data item.
 	 * Complex data labels may need more than one view per item, and
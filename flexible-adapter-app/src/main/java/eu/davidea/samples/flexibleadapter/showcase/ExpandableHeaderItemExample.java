@@ -60,6 +60,11 @@ public class ExpandableHeaderItemExample
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return id.hashCode();
+	}
+
 	public String getId() {
 		return id;
 	}
@@ -66,6 +66,11 @@ public class FlexibleItemHolderExample<Model> extends AbstractSectionableItem<Fl
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return modelData.hashCode();
+	}
+
 	@Override
 	public int getLayoutRes() {
 		return R.layout.recycler_expandable_item;
@@ -0,0 +1,94 @@
+package eu.davidea.flexibleadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Adaptive updates: animated notifications or full refresh according to the cost model.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class AdaptiveUpdateTest {
+
+	private static final int ITEMS = 50000;
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	int mRefreshes, mNotifications;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < ITEMS; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+		mAdapter.setAdaptiveUpdates(true);
+		mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+			@Override
+			public void onChanged() {
+				mRefreshes++;
+			}
+
+			@Override
+			public void onItemRangeInserted(int positionStart, int itemCount) {
+				mNotifications++;
+			}
+
+			@Override
+			public void onItemRangeRemoved(int positionStart, int itemCount) {
+				mNotifications++;
+			}
+
+			@Override
+			public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+				mNotifications++;
+			}
+		});
+	}
+
+	@Test
+	public void testCostModel() throws Exception {
+		//Nothing displayed
+		assertFalse(mAdapter.shouldAnimateUpdate(ITEMS, ITEMS / 20, 1, 0));
+		//Few notifications
+		assertTrue(mAdapter.shouldAnimateUpdate(ITEMS, ITEMS - 10, 3, 15));
+		//One notification for each removed item
+		assertFalse(mAdapter.shouldAnimateUpdate(ITEMS, ITEMS / 20, ITEMS / 20, 15));
+	}
+
+	@Test
+	public void testFilterRemoving95Percent() throws Exception {
+		List<AbstractFlexibleItem> filtered = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < ITEMS; i += 20) {
+			filtered.add(mItems.get(i));
+		}
+		mAdapter.animateTo(filtered);
+		assertEquals(1, mRefreshes);
+		assertEquals(0, mNotifications);
+		assertEquals(filtered.size(), mAdapter.getItemCount());
+		for (int i = 0; i < filtered.size(); i++) {
+			assertSame(filtered.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
@@ -0,0 +1,151 @@
+package eu.davidea.flexibleadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Edit script of {@link FlexibleAdapter#animateTo(List)}: final content and number of
+ * notifications.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class AnimateToTest {
+
+	private static final int ITEMS = 20000;
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	int mRemovals, mInsertions, mMoves;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < ITEMS; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+		mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+			@Override
+			public void onItemRangeInserted(int positionStart, int itemCount) {
+				mInsertions++;
+			}
+
+			@Override
+			public void onItemRangeRemoved(int positionStart, int itemCount) {
+				mRemovals++;
+			}
+
+			@Override
+			public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+				mMoves++;
+			}
+		});
+	}
+
+	@Test
+	public void testFilterCoalescesRemovals() throws Exception {
+		List<AbstractFlexibleItem> filtered = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < ITEMS; i++) {
+			if (i % 10 < 2) filtered.add(mItems.get(i));
+		}
+		mAdapter.animateTo(filtered);
+		assertContent(filtered);
+		//One range every 10 items
+		assertEquals(ITEMS / 10, mRemovals);
+		assertEquals(0, mInsertions);
+		assertEquals(0, mMoves);
+
+		mAdapter.animateTo(new ArrayList<AbstractFlexibleItem>(mItems));
+		assertContent(mItems);
+		assertEquals(ITEMS / 10, mInsertions);
+		assertEquals(0, mMoves);
+	}
+
+	@Test
+	public void testMinimalMoves() throws Exception {
+		List<AbstractFlexibleItem> newItems = new ArrayList<AbstractFlexibleItem>(mItems);
+		//Move the last item on top and swap 2 items
+		newItems.add(0, newItems.remove(ITEMS - 1));
+		Collections.swap(newItems, 100, 200);
+		mAdapter.animateTo(newItems);
+		assertContent(newItems);
+		assertEquals(0, mRemovals);
+		assertEquals(0, mInsertions);
+		assertEquals(3, mMoves);
+	}
+
+	@Test
+	public void testResortMovesOnlyDisplacedItems() throws Exception {
+		List<AbstractFlexibleItem> newItems = new ArrayList<AbstractFlexibleItem>(mItems);
+		//Rotation: the longest sequence in order is made of all the items but 100
+		Collections.rotate(newItems, 100);
+		mAdapter.animateTo(newItems);
+		assertContent(newItems);
+		assertEquals(100, mMoves);
+
+		//Random order: the final content is the same
+		mMoves = 0;
+		Collections.shuffle(newItems, new Random(1));
+		mAdapter.animateTo(newItems);
+		assertContent(newItems);
+		assertTrue(mMoves < ITEMS);
+	}
+
+	@Test
+	public void testAppendAndPrepend() throws Exception {
+		List<AbstractFlexibleItem> newItems = new ArrayList<AbstractFlexibleItem>(mItems);
+		newItems.add(DatabaseService.newSimpleItem(ITEMS, null));
+		newItems.add(DatabaseService.newSimpleItem(ITEMS + 1, null));
+		mAdapter.updateDataSet(newItems, true);
+		assertContent(newItems);
+		assertEquals(1, mInsertions);
+
+		newItems.add(0, DatabaseService.newSimpleItem(-1, null));
+		mAdapter.updateDataSet(new ArrayList<AbstractFlexibleItem>(newItems), true);
+		assertContent(newItems);
+		assertEquals(2, mInsertions);
+		assertEquals(0, mRemovals);
+		assertEquals(0, mMoves);
+	}
+
+	@Test
+	public void testPairedItemsKeepInstance() throws Exception {
+		AbstractFlexibleItem first = mAdapter.getItem(0);
+		List<AbstractFlexibleItem> newItems = new ArrayList<AbstractFlexibleItem>();
+		newItems.add(DatabaseService.newSimpleItem(0, null));
+		newItems.add(DatabaseService.newSimpleItem(ITEMS, null));
+		mAdapter.animateTo(newItems);
+		assertEquals(2, mAdapter.getItemCount());
+		assertSame(first, mAdapter.getItem(0));
+		assertTrue(mAdapter.getItem(1).equals(newItems.get(1)));
+		assertEquals(1, mInsertions);
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+package eu.davidea.flexibleadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Operations performed in a batch deliver their net effect at commit.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class BatchUpdateTest {
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	List<String> mEvents = new ArrayList<String>();
+	int mEmptyViewUpdates;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 20; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(),
+				new FlexibleAdapter.OnUpdateListener() {
+					@Override
+					public void onUpdateEmptyView(int size) {
+						mEmptyViewUpdates++;
+					}
+				});
+		mEmptyViewUpdates = 0;
+		mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+			@Override
+			public void onItemRangeInserted(int positionStart, int itemCount) {
+				mEvents.add("insert " + positionStart + "," + itemCount);
+			}
+
+			@Override
+			public void onItemRangeRemoved(int positionStart, int itemCount) {
+				mEvents.add("remove " + positionStart + "," + itemCount);
+			}
+
+			@Override
+			public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+				mEvents.add("change " + positionStart + "," + itemCount);
+			}
+
+			@Override
+			public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+				mEvents.add("move " + fromPosition + "," + toPosition);
+			}
+		});
+	}
+
+	@Test
+	public void testNetEffect() throws Exception {
+		mAdapter.beginBatch();
+		for (int i = 0; i < 10; i++) {
+			mAdapter.addItem(i, mItems.get(i));
+		}
+		mAdapter.removeItem(3);
+		mAdapter.addItem(3, mItems.get(3));
+		mAdapter.updateItem(5, mItems.get(5), "payload");
+		assertTrue(mEvents.isEmpty());
+		assertEquals(0, mEmptyViewUpdates);
+		mAdapter.commit();
+
+		assertEquals(Arrays.asList("insert 0,10"), mEvents);
+		assertEquals(1, mEmptyViewUpdates);
+		assertEquals(10, mAdapter.getItemCount());
+	}
+
+	@Test
+	public void testNestedBatches() throws Exception {
+		mAdapter.addItems(0, mItems);
+		mEvents.clear();
+		mAdapter.beginBatch();
+		mAdapter.removeItem(0);
+		mAdapter.beginBatch();
+		mAdapter.removeItem(0);
+		mAdapter.commit();
+		assertTrue(mEvents.isEmpty());
+		mAdapter.updateItem(0, mItems.get(2), "payload");
+		mAdapter.commit();
+
+		assertEquals(Arrays.asList("remove 0,2", "change 0,1"), mEvents);
+		assertFalse(mAdapter.isBatching());
+	}
+
+	@Test
+	public void testSelectionInBatch() throws Exception {
+		mAdapter.addItems(0, mItems.subList(0, 10));
+		mAdapter.toggleSelection(5);
+		mAdapter.toggleSelection(8);
+		mAdapter.beginBatch();
+		mAdapter.removeItem(2);
+		//Selected item 5 is now at position 4
+		assertTrue(mAdapter.isSelected(4));
+		mAdapter.removeItem(4);
+		mAdapter.addItem(0, mItems.get(10));
+		mAdapter.commit();
+		//Only the selected item 8 remains, at position 8 - 2 + 1
+		assertEquals(Arrays.asList(7), mAdapter.getSelectedPositions());
+		assertEquals(mItems.get(8), mAdapter.getItem(7));
+	}
+
+	@Test
+	public void testBatchCommittedOnException() throws Exception {
+		try {
+			mAdapter.batch(new Runnable() {
+				@Override
+				public void run() {
+					mAdapter.addItems(0, mItems);
+					throw new IllegalStateException();
+				}
+			});
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			assertFalse(mAdapter.isBatching());
+			assertEquals(Arrays.asList("insert 0,20"), mEvents);
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.utils.ChunkedList;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark of the ChunkedList against the ArrayList, simulating the expansion and the
+ * collapse of ranges in the middle of a big list. Times are only reported.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+public class ChunkedListBenchmark {
+
+	private static final int ITEMS = 100000;
+	private static final int RANGE = 50;
+	private static final int OPERATIONS = 5000;
+
+	@Test
+	public void testRangeOperationsBenchmark() throws Exception {
+		List<Integer> range = newRange(RANGE);
+		//Warm up
+		runRangeOperations(new ArrayList<Integer>(newRange(ITEMS)), range);
+		runRangeOperations(new ChunkedList<Integer>(newRange(ITEMS)), range);
+
+		long arrayListTime = runRangeOperations(new ArrayList<Integer>(newRange(ITEMS)), range);
+		long chunkedListTime = runRangeOperations(new ChunkedList<Integer>(newRange(ITEMS)), range);
+		System.out.println(OPERATIONS + " inserts and removals of " + RANGE + " items in the middle of " +
+				ITEMS + " items: ArrayList=" + arrayListTime / 1000000 +
+				"ms ChunkedList=" + chunkedListTime / 1000000 + "ms");
+	}
+
+	private long runRangeOperations(List<Integer> items, List<Integer> range) {
+		long start = System.nanoTime();
+		for (int i = 0; i < OPERATIONS; i++) {
+			int position = (i * 7919) % (ITEMS / 2) + 1;
+			//Expand
+			items.addAll(position, range);
+			//Collapse
+			items.subList(position, position + RANGE).clear();
+		}
+		long time = System.nanoTime() - start;
+		assertEquals(ITEMS, items.size());
+		return time;
+	}
+
+	private List<Integer> newRange(int count) {
+		List<Integer> range = new ArrayList<Integer>(count);
+		for (int i = 0; i < count; i++) range.add(i);
+		return range;
+	}
+
+}
@@ -0,0 +1,95 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import eu.davidea.flexibleadapter.utils.ChunkedList;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The ChunkedList behaves as the ArrayList, also when ranges are expanded and collapsed at
+ * the top of a big list.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+public class ChunkedListTest {
+
+	private static final int ITEMS = 100000;
+	private static final int RANGE = 50;
+	private static final int OPERATIONS = 1000;
+
+	@Test
+	public void testSameBehaviourOfArrayList() throws Exception {
+		Random random = new Random(7);
+		for (int chunkSize : new int[]{1, 3, 16, ChunkedList.DEFAULT_CHUNK_SIZE}) {
+			List<Integer> expected = new ArrayList<Integer>();
+			List<Integer> actual = new ChunkedList<Integer>(chunkSize);
+			for (int i = 0; i < 10000; i++) {
+				int size = expected.size();
+				switch (random.nextInt(5)) {
+					case 0:
+						int position = random.nextInt(size + 1);
+						expected.add(position, i);
+						actual.add(position, i);
+						break;
+					case 1:
+						if (size == 0) break;
+						position = random.nextInt(size);
+						assertEquals(expected.remove(position), actual.remove(position));
+						break;
+					case 2:
+						position = random.nextInt(size + 1);
+						List<Integer> range = newRange(random.nextInt(random.nextBoolean() ? 5 : 600));
+						expected.addAll(position, range);
+						actual.addAll(position, range);
+						break;
+					case 3:
+						if (size == 0) break;
+						position = random.nextInt(size);
+						int end = position + random.nextInt(Math.min(size - position, 700) + 1);
+						expected.subList(position, end).clear();
+						actual.subList(position, end).clear();
+						break;
+					default:
+						if (size == 0) break;
+						position = random.nextInt(size);
+						assertEquals(expected.set(position, -i), actual.set(position, -i));
+				}
+				assertEquals(expected.size(), actual.size());
+			}
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void testRangeOperations() throws Exception {
+		List<Integer> range = newRange(RANGE);
+		List<Integer> expected = new ArrayList<Integer>(newRange(ITEMS));
+		List<Integer> actual = new ChunkedList<Integer>(newRange(ITEMS));
+		for (int i = 0; i < OPERATIONS; i++) {
+			int position = (i * 31) % 1000 + 1;
+			//Expand
+			expected.addAll(position, range);
+			actual.addAll(position, range);
+			assertEquals(expected.subList(position - 1, position + RANGE + 1),
+					actual.subList(position - 1, position + RANGE + 1));
+			//Collapse
+			expected.subList(position, position + RANGE).clear();
+			actual.subList(position, position + RANGE).clear();
+			assertEquals(ITEMS, actual.size());
+		}
+		assertEquals(expected, actual);
+	}
+
+	private List<Integer> newRange(int count) {
+		List<Integer> range = new ArrayList<Integer>(count);
+		for (int i = 0; i < count; i++) range.add(i);
+		return range;
+	}
+
+}
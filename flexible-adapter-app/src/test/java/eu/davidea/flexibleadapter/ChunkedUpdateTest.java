@@ -0,0 +1,185 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Big mutations applied across multiple frames.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ChunkedUpdateTest {
+
+	private static final int ITEMS = 50000;
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	int mFrames, mCompleted;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < ITEMS; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(),
+				new FlexibleAdapter.OnChunkedUpdateListener() {
+					@Override
+					public void onChunkedUpdateProgress(int processed, int total) {
+						mFrames++;
+						assertEquals(ITEMS, total);
+						//The items already inserted are all displayed
+						assertEquals(processed, mAdapter.getItemCount());
+						assertSame(mItems.get(processed - 1), mAdapter.getItem(processed - 1));
+					}
+
+					@Override
+					public void onChunkedUpdateComplete() {
+						mCompleted++;
+					}
+				});
+		mAdapter.setChunkedUpdates(true, 1L);
+	}
+
+	@Test
+	public void testAddItems() throws Exception {
+		mAdapter.addItems(0, mItems);
+		runFrames();
+		assertContent(mItems);
+		assertTrue(mFrames > 0);
+		assertEquals(1, mCompleted);
+	}
+
+	@Test
+	public void testUpdateDataSet() throws Exception {
+		mAdapter.updateDataSet(mItems);
+		assertTrue(mAdapter.getItemCount() > 0);
+		runFrames();
+		assertContent(mItems);
+		assertEquals(1, mCompleted);
+	}
+
+	@Test
+	public void testUpdateDataSetPublishedAtCompletion() throws Exception {
+		mAdapter.updateDataSet(mItems);
+		runFrames();
+		//The other threads read the complete data set
+		final AtomicReference<List<AbstractFlexibleItem>> read = new AtomicReference<List<AbstractFlexibleItem>>();
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				read.set(mAdapter.getCurrentItems());
+			}
+		});
+		reader.start();
+		reader.join(5000);
+		assertEquals(mItems, read.get());
+	}
+
+	@Test
+	public void testFinishChunkedUpdates() throws Exception {
+		mAdapter.updateDataSet(mItems);
+		mAdapter.finishChunkedUpdates();
+		assertFalse(mAdapter.hasPendingChunkedUpdates());
+		assertContent(mItems);
+		assertEquals(1, mCompleted);
+	}
+
+	@Test
+	public void testCancelledUpdate() throws Exception {
+		ShadowLooper.pauseMainLooper();
+		mAdapter.updateDataSet(mItems);
+		assertTrue(mAdapter.hasPendingChunkedUpdates());
+		//A new data set cancels the pending slices
+		mAdapter.updateDataSet(mItems.subList(0, 10));
+		assertFalse(mAdapter.hasPendingChunkedUpdates());
+		assertEquals(1, mCompleted);
+		assertContent(mItems.subList(0, 10));
+	}
+
+	@Test
+	public void testCumulativeProgress() throws Exception {
+		final int[] progress = new int[2];
+		FlexibleAdapter<AbstractFlexibleItem> adapter = new FlexibleAdapter<AbstractFlexibleItem>(
+				new ArrayList<AbstractFlexibleItem>(),
+				new FlexibleAdapter.OnChunkedUpdateListener() {
+					@Override
+					public void onChunkedUpdateProgress(int processed, int total) {
+						assertTrue(processed >= progress[0]);
+						assertTrue(processed <= total);
+						progress[0] = processed;
+						progress[1] = total;
+					}
+
+					@Override
+					public void onChunkedUpdateComplete() {
+						mCompleted++;
+					}
+				});
+		adapter.setChunkedUpdates(true, 1L);
+		ShadowLooper.pauseMainLooper();
+		adapter.addItems(0, mItems.subList(0, ITEMS / 2));
+		adapter.addItems(0, mItems.subList(ITEMS / 2, ITEMS));
+		while (adapter.hasPendingChunkedUpdates()) {
+			ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		}
+		assertEquals(ITEMS, progress[0]);
+		assertEquals(ITEMS, progress[1]);
+		assertEquals(1, mCompleted);
+	}
+
+	@Test
+	public void testExpandAll() throws Exception {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 10000; i++) {
+			items.add(DatabaseService.newExpandableItem(i, null));
+		}
+		FlexibleAdapter<AbstractFlexibleItem> adapter =
+				new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(items));
+		adapter.setChunkedUpdates(true, 1L);
+		ShadowLooper.pauseMainLooper();
+		adapter.expandAll();
+		assertTrue(adapter.hasPendingChunkedUpdates());
+		//Positions change between the frames
+		adapter.removeItem(0);
+		while (adapter.hasPendingChunkedUpdates()) {
+			ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		}
+		for (int i = 1; i < items.size(); i++) {
+			assertTrue(adapter.isExpanded(items.get(i)));
+		}
+	}
+
+	private void runFrames() {
+		while (mAdapter.hasPendingChunkedUpdates()) {
+			ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		}
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
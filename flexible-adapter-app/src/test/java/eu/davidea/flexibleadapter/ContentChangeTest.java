@@ -0,0 +1,114 @@
+package eu.davidea.flexibleadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IDiffable;
+import eu.davidea.flexibleadapter.items.IFlexible;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Only the items whose content has changed are notified after a data set update.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ContentChangeTest {
+
+	FlexibleAdapter<VersionedItem> mAdapter;
+	List<Integer> mChangedPositions = new ArrayList<Integer>();
+	List<Object> mPayloads = new ArrayList<Object>();
+
+	@Before
+	public void setUp() throws Exception {
+		List<VersionedItem> items = new ArrayList<VersionedItem>();
+		for (int i = 0; i < 100; i++) {
+			items.add(new VersionedItem(i, 1));
+		}
+		mAdapter = new FlexibleAdapter<VersionedItem>(items);
+		mAdapter.setNotifyChangeOfUnfilteredItems(true);
+		mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+			@Override
+			public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+				for (int i = 0; i < itemCount; i++) {
+					mChangedPositions.add(positionStart + i);
+					mPayloads.add(payload);
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testOnlyChangedItemsAreNotified() throws Exception {
+		List<VersionedItem> newItems = new ArrayList<VersionedItem>();
+		for (int i = 0; i < 100; i++) {
+			newItems.add(new VersionedItem(i, i % 25 == 0 ? 2 : 1));
+		}
+		VersionedItem unchanged = mAdapter.getItem(1);
+		mAdapter.updateDataSet(newItems, true);
+
+		assertEquals(4, mChangedPositions.size());
+		for (int i = 0; i < 4; i++) {
+			int position = mChangedPositions.get(i);
+			assertEquals(i * 25, position);
+			assertEquals("version 1 -> 2", mPayloads.get(i));
+			//The new content is displayed
+			assertSame(newItems.get(position), mAdapter.getItem(position));
+		}
+		assertSame(unchanged, mAdapter.getItem(1));
+	}
+
+	@Test
+	public void testSameInstancesAreNotifiedByFlag() throws Exception {
+		List<VersionedItem> newItems = new ArrayList<VersionedItem>();
+		for (int i = 0; i < 10; i++) {
+			newItems.add(mAdapter.getItem(i));
+		}
+		mAdapter.updateDataSet(newItems, true);
+		assertEquals(10, mChangedPositions.size());
+		assertEquals(true, mPayloads.get(0));
+	}
+
+	static class VersionedItem extends AbstractFlexibleItem implements IDiffable {
+		final int id, version;
+
+		VersionedItem(int id, int version) {
+			this.id = id;
+			this.version = version;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof VersionedItem && ((VersionedItem) o).id == id;
+		}
+
+		@Override
+		public int hashCode() {
+			return id;
+		}
+
+		@Override
+		public boolean hasSameContentAs(IFlexible newItem) {
+			return ((VersionedItem) newItem).version == version;
+		}
+
+		@Override
+		public Object getChangePayload(IFlexible newItem) {
+			return "version " + version + " -> " + ((VersionedItem) newItem).version;
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IExpandable;
+import eu.davidea.flexibleadapter.utils.TreeList;
+import eu.davidea.samples.flexibleadapter.models.ExpandableItem;
+import eu.davidea.samples.flexibleadapter.models.SubItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The parent of a child is found through the link kept since the expansion, without scanning
+ * the items, and only while the parent still owns the child.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ExpandableParentTest {
+
+	List<AbstractFlexibleItem> mItems;
+	ExpandableItem mParent;
+	SubItem mChild;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 10; i++) {
+			mItems.add(DatabaseService.newExpandableItem(i, null));
+		}
+		mParent = (ExpandableItem) mItems.get(2);
+		mChild = mParent.getSubItems().get(1);
+	}
+
+	@Test
+	public void testParentOfExpandedChild() throws Exception {
+		FlexibleAdapter<AbstractFlexibleItem> adapter = new FlexibleAdapter<AbstractFlexibleItem>(mItems);
+		assertParentReleased(adapter);
+	}
+
+	@Test
+	public void testParentOfExpandedChildInTreeList() throws Exception {
+		FlexibleAdapter<AbstractFlexibleItem> adapter = new FlexibleAdapter<AbstractFlexibleItem>(
+				new TreeList<AbstractFlexibleItem>(mItems)) {
+			@Override
+			protected List<AbstractFlexibleItem> createItemList(List<AbstractFlexibleItem> items) {
+				return new TreeList<AbstractFlexibleItem>(items);
+			}
+		};
+		assertParentReleased(adapter);
+		//Parents are found also after the main container has been replaced
+		adapter.updateDataSet(mItems, false);
+		adapter.expand(adapter.getGlobalPositionOf(mParent));
+		assertEquals(mParent, adapter.getExpandableOf(mParent.getSubItems().get(0)));
+	}
+
+	@Test
+	public void testParentsFoundWithoutScanning() throws Exception {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 1000; i++) {
+			items.add(DatabaseService.newExpandableItem(i, null));
+		}
+		final int[] scanned = new int[1];
+		FlexibleAdapter<AbstractFlexibleItem> adapter = new FlexibleAdapter<AbstractFlexibleItem>(items) {
+			@Override
+			public boolean isExpandable(AbstractFlexibleItem item) {
+				scanned[0]++;
+				return super.isExpandable(item);
+			}
+		};
+		adapter.expandAll();
+		scanned[0] = 0;
+		for (int position = 0; position < adapter.getItemCount(); position++) {
+			AbstractFlexibleItem item = adapter.getItem(position);
+			IExpandable parent = adapter.getExpandableOf(item);
+			if (item instanceof SubItem) {
+				assertTrue(parent.getSubItems().contains(item));
+			} else {
+				assertNull(parent);
+			}
+		}
+		//No other item has been inspected
+		assertEquals(0, scanned[0]);
+	}
+
+	@Test
+	public void testParentOfMovedChild() throws Exception {
+		FlexibleAdapter<AbstractFlexibleItem> adapter = new FlexibleAdapter<AbstractFlexibleItem>(mItems);
+		adapter.expand(2);
+		//The position of the child in the parent changes
+		Collections.reverse(mParent.getSubItems());
+		assertEquals(mParent, adapter.getExpandableOf(mChild));
+		//The child is moved in the list
+		adapter.moveItem(adapter.getGlobalPositionOf(mChild), 3);
+		assertEquals(mParent, adapter.getExpandableOf(mChild));
+		adapter.collapse(2);
+		assertNull(adapter.getExpandableOf(mChild));
+	}
+
+	private void assertParentReleased(FlexibleAdapter<AbstractFlexibleItem> adapter) {
+		adapter.expand(2);
+		assertEquals(mParent, adapter.getExpandableOf(mChild));
+		assertEquals(mParent, adapter.getExpandableOf(4));
+		//The child is still displayed, but the parent doesn't own it anymore
+		mParent.removeSubItem(mChild);
+		assertNull(adapter.getExpandableOf(mChild));
+		//The parent is removed with its children
+		SubItem child = mParent.getSubItems().get(0);
+		assertEquals(mParent, adapter.getExpandableOf(child));
+		adapter.removeItem(2);
+		assertNull(adapter.getExpandableOf(child));
+	}
+
+}
@@ -0,0 +1,107 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IFilterable;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Filter with the matching phase in background.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class FilterAsyncTest {
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	List<Runnable> mTasks = new ArrayList<Runnable>();
+	int mMatches;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 1000; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems)) {
+			@Override
+			protected boolean filterObject(AbstractFlexibleItem item, String constraint) {
+				mMatches++;
+				return super.filterObject(item, constraint);
+			}
+		};
+		//Background tasks are executed on demand
+		mAdapter.setDiffExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				mTasks.add(command);
+			}
+		});
+		ShadowLooper.pauseMainLooper();
+	}
+
+	@Test
+	public void testResultIsApplied() throws Exception {
+		mAdapter.setSearchText("item 1");
+		mAdapter.filterItemsAsync(new ArrayList<AbstractFlexibleItem>(mItems));
+		assertEquals(mItems.size(), mAdapter.getItemCount());
+		runTasks();
+		assertEquals(mItems.size(), mMatches);
+		ShadowLooper.runUiThreadTasks();
+		//Items are not matched again on the main thread
+		assertEquals(mItems.size(), mMatches);
+		assertContent(filter("item 1"));
+	}
+
+	@Test
+	public void testStaleConstraintIsCancelled() throws Exception {
+		mAdapter.setSearchText("item 1");
+		mAdapter.filterItemsAsync(new ArrayList<AbstractFlexibleItem>(mItems));
+		//User is still typing
+		mAdapter.setSearchText("item 12");
+		mAdapter.filterItemsAsync(new ArrayList<AbstractFlexibleItem>(mItems));
+		runTasks();
+		//The first matching stopped immediately
+		assertEquals(mItems.size(), mMatches);
+		ShadowLooper.runUiThreadTasks();
+		assertContent(filter("item 12"));
+	}
+
+	private List<AbstractFlexibleItem> filter(String constraint) {
+		List<AbstractFlexibleItem> filtered = new ArrayList<AbstractFlexibleItem>();
+		for (AbstractFlexibleItem item : mItems) {
+			if (((IFilterable) item).filter(constraint)) filtered.add(item);
+		}
+		return filtered;
+	}
+
+	private void runTasks() {
+		List<Runnable> tasks = new ArrayList<Runnable>(mTasks);
+		mTasks.clear();
+		for (Runnable task : tasks) task.run();
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
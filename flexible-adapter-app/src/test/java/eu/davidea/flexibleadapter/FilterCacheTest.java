@@ -0,0 +1,126 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IFilterable;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Search texts filtered recently are applied again from the cache.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class FilterCacheTest {
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	int mMatches;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 1000; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems)) {
+			@Override
+			protected boolean filterObject(AbstractFlexibleItem item, String constraint) {
+				mMatches++;
+				return super.filterObject(item, constraint);
+			}
+		};
+		mAdapter.setFilterCacheSize(10000);
+	}
+
+	@Test
+	public void testBackspaceUsesCache() throws Exception {
+		filter("item 1");
+		filter("item 12");
+		mMatches = 0;
+		//Backspace and type again
+		filter("item 1");
+		assertContent(expected("item 1"));
+		filter("item 12");
+		assertContent(expected("item 12"));
+		assertEquals(0, mMatches);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsDiscarded() throws Exception {
+		mAdapter.setFilterCacheSize(mItems.size());
+		filter("item 1");
+		filter("item 2");
+		mMatches = 0;
+		filter("item 1");
+		assertEquals(mItems.size(), mMatches);
+		assertContent(expected("item 1"));
+	}
+
+	@Test
+	public void testMutationsInvalidateCache() throws Exception {
+		filter("item 1");
+		filter("item 2");
+		//Different items
+		mItems.remove(0);
+		mMatches = 0;
+		filter("item 1");
+		assertEquals(mItems.size(), mMatches);
+		assertContent(expected("item 1"));
+
+		//Different content
+		mAdapter.updateItem(0, mAdapter.getItem(0), null);
+		mMatches = 0;
+		filter("item 2");
+		assertEquals(mItems.size(), mMatches);
+		assertContent(expected("item 2"));
+	}
+
+	@Test
+	public void testModifiedItemsInvalidateCache() throws Exception {
+		filter("item 1");
+		filter("item 2");
+		//Same number of items, but a new item is added to the Adapter
+		AbstractFlexibleItem newItem = DatabaseService.newSimpleItem(1000, null);
+		mItems.set(0, newItem);
+		mAdapter.addItem(0, newItem);
+		mMatches = 0;
+		filter("item 1");
+		assertEquals(mItems.size(), mMatches);
+		assertContent(expected("item 1"));
+	}
+
+	private void filter(String searchText) {
+		mAdapter.setSearchText(searchText);
+		mAdapter.filterItems(new ArrayList<AbstractFlexibleItem>(mItems));
+	}
+
+	private List<AbstractFlexibleItem> expected(String searchText) {
+		List<AbstractFlexibleItem> filtered = new ArrayList<AbstractFlexibleItem>();
+		for (AbstractFlexibleItem item : mItems) {
+			if (((IFilterable) item).filter(searchText)) filtered.add(item);
+		}
+		return filtered;
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
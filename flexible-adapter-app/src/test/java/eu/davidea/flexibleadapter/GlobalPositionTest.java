@@ -0,0 +1,98 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The global position of an item follows the contract of {@link List#indexOf(Object)} while
+ * the items are added, removed, moved and updated.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class GlobalPositionTest {
+
+	private static final int IDS = 300;
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 200; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+	}
+
+	@Test
+	public void testSamePositionsOfArrayList() throws Exception {
+		Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			int size = mItems.size();
+			switch (random.nextInt(4)) {
+				case 0:
+					//Same ids are allowed, so equal items are displayed
+					int position = random.nextInt(size + 1);
+					AbstractFlexibleItem item = DatabaseService.newSimpleItem(random.nextInt(IDS), null);
+					mItems.add(position, item);
+					mAdapter.addItem(position, item);
+					break;
+				case 1:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					mItems.remove(position);
+					mAdapter.removeItem(position);
+					break;
+				case 2:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					int toPosition = random.nextInt(size);
+					mItems.add(toPosition, mItems.remove(position));
+					mAdapter.moveItem(position, toPosition);
+					break;
+				default:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					item = DatabaseService.newSimpleItem(random.nextInt(IDS), null);
+					mItems.set(position, item);
+					mAdapter.updateItem(position, item, null);
+			}
+			assertEquals(mItems.size(), mAdapter.getItemCount());
+			//Equal items, not the same instances, also not displayed
+			int id = random.nextInt(IDS);
+			assertEquals(mItems.indexOf(DatabaseService.newSimpleItem(id, null)),
+					mAdapter.getGlobalPositionOf(DatabaseService.newSimpleItem(id, null)));
+		}
+	}
+
+	@Test
+	public void testPositionsAfterDataSetUpdate() throws Exception {
+		List<AbstractFlexibleItem> filtered = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < mItems.size(); i += 3) filtered.add(mItems.get(i));
+		mAdapter.updateDataSet(filtered, true);
+		for (int i = 0; i < mItems.size(); i++) {
+			assertEquals(filtered.indexOf(mItems.get(i)), mAdapter.getGlobalPositionOf(mItems.get(i)));
+		}
+		mAdapter.updateDataSet(mItems, false);
+		for (int i = 0; i < mItems.size(); i++) {
+			assertEquals(i, mAdapter.getGlobalPositionOf(mItems.get(i)));
+		}
+	}
+
+}
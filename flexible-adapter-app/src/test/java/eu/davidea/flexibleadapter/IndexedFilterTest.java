@@ -0,0 +1,170 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IFilterable;
+import eu.davidea.samples.flexibleadapter.models.ExpandableItem;
+import eu.davidea.samples.flexibleadapter.models.SimpleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Only the candidates found in the index are filtered.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class IndexedFilterTest {
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	int mMatches;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 10000; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems)) {
+			@Override
+			protected boolean filterObject(AbstractFlexibleItem item, String constraint) {
+				mMatches++;
+				return super.filterObject(item, constraint);
+			}
+		};
+		mAdapter.setIndexedFilter(true);
+	}
+
+	@Test
+	public void testOnlyCandidatesAreFiltered() throws Exception {
+		filter("item 123");
+		//Instead of all the items
+		assertTrue(mMatches < 100);
+		assertContent(expected("item 123"));
+
+		mMatches = 0;
+		filter("no match");
+		assertEquals(0, mMatches);
+		assertEquals(0, mAdapter.getItemCount());
+	}
+
+	@Test
+	public void testShortTextFiltersEverything() throws Exception {
+		filter("99");
+		assertEquals(mItems.size(), mMatches);
+		assertContent(expected("99"));
+	}
+
+	@Test
+	public void testInvalidateIndex() throws Exception {
+		filter("item 42");
+		((SimpleItem) mItems.get(0)).setTitle("Renamed Item 42");
+		filter("renamed");
+		assertEquals(0, mAdapter.getItemCount());
+
+		mAdapter.invalidateFilterIndex();
+		filter("renamed");
+		assertEquals(1, mAdapter.getItemCount());
+		assertSame(mItems.get(0), mAdapter.getItem(0));
+	}
+
+	@Test
+	public void testExpansionOfExcludedItems() throws Exception {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 20; i++) {
+			items.add(DatabaseService.newExpandableItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(items));
+		mAdapter.setIndexedFilter(true);
+		mAdapter.expand(5);
+		mAdapter.setSearchText("item 12");
+		mAdapter.filterItems(new ArrayList<AbstractFlexibleItem>(items));
+		//Excluded by the index, the expandable is collapsed as if filtered out
+		assertFalse(mAdapter.isExpanded(items.get(5)));
+		mAdapter.setSearchText("");
+		mAdapter.filterItems(new ArrayList<AbstractFlexibleItem>(items));
+		assertTrue(mAdapter.isExpanded(items.get(5)));
+		assertSame(items.get(5), mAdapter.getItem(5));
+		assertEquals(items.size() + ((ExpandableItem) items.get(5)).getSubItems().size(), mAdapter.getItemCount());
+	}
+
+	@Test
+	public void testTextsReadOnMainThread() throws Exception {
+		final Thread mainThread = Thread.currentThread();
+		final List<Thread> readers = new ArrayList<Thread>();
+		mItems.clear();
+		for (int i = 0; i < 100; i++) {
+			SimpleItem item = new SimpleItem("S" + i) {
+				@Override
+				public String getSearchableText() {
+					synchronized (readers) {
+						readers.add(Thread.currentThread());
+					}
+					return super.getSearchableText();
+				}
+			};
+			item.setTitle("Simple Item " + i);
+			mItems.add(item);
+		}
+		mAdapter.setDiffExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				Thread thread = new Thread(command);
+				thread.start();
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		ShadowLooper.pauseMainLooper();
+		mAdapter.setSearchText("item 42");
+		mAdapter.filterItemsAsync(new ArrayList<AbstractFlexibleItem>(mItems));
+		ShadowLooper.runUiThreadTasks();
+		assertEquals(1, mAdapter.getItemCount());
+		assertSame(mItems.get(42), mAdapter.getItem(0));
+		assertEquals(mItems.size(), readers.size());
+		for (Thread reader : readers) {
+			assertSame(mainThread, reader);
+		}
+	}
+
+	private void filter(String searchText) {
+		mAdapter.setSearchText(searchText);
+		mAdapter.filterItems(new ArrayList<AbstractFlexibleItem>(mItems));
+	}
+
+	private List<AbstractFlexibleItem> expected(String searchText) {
+		List<AbstractFlexibleItem> filtered = new ArrayList<AbstractFlexibleItem>();
+		for (AbstractFlexibleItem item : mItems) {
+			if (((IFilterable) item).filter(searchText)) filtered.add(item);
+		}
+		return filtered;
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
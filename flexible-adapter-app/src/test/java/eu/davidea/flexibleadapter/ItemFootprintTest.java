@@ -0,0 +1,185 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractCompactFlexibleItem;
+import eu.davidea.flexibleadapter.items.AbstractExpandableItem;
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IFlexible;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Heap footprint of the base item classes: the retained bytes per item are reported, the
+ * compact item keeps all its flags in a single int field and behaves as the
+ * AbstractFlexibleItem.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ItemFootprintTest {
+
+	private static final int ITEMS = 200000;
+	private static final int RUNS = 3;
+
+	@Test
+	public void testSingleFlagsField() throws Exception {
+		List<Field> fields = getInstanceFields(AbstractCompactFlexibleItem.class);
+		assertEquals(1, fields.size());
+		assertEquals(int.class, fields.get(0).getType());
+		//Against one boolean field for each flag
+		assertTrue(getInstanceFields(AbstractFlexibleItem.class).size() > 1);
+		//Subclasses add no field
+		assertTrue(getInstanceFields(CompactItem.class).isEmpty());
+	}
+
+	@Test
+	public void testSameFlagsOfFlexibleItem() throws Exception {
+		IFlexible flexible = new FlexibleItem();
+		IFlexible compact = new CompactItem();
+		assertSameFlags(flexible, compact);
+		//Each flag is independent from the others
+		for (int flag = 0; flag < 5; flag++) {
+			toggle(flexible, flag);
+			toggle(compact, flag);
+			assertSameFlags(flexible, compact);
+		}
+		for (int flag = 0; flag < 5; flag += 2) {
+			toggle(flexible, flag);
+			toggle(compact, flag);
+			assertSameFlags(flexible, compact);
+		}
+	}
+
+	@Test
+	public void testBytesPerItem() throws Exception {
+		//Warm up
+		measure(new Factory() {
+			@Override
+			public Object create() {
+				return new FlexibleItem();
+			}
+		});
+		long flexible = measure(new Factory() {
+			@Override
+			public Object create() {
+				return new FlexibleItem();
+			}
+		});
+		long expandable = measure(new Factory() {
+			@Override
+			public Object create() {
+				return new ExpandableItem();
+			}
+		});
+		long compact = measure(new Factory() {
+			@Override
+			public Object create() {
+				return new CompactItem();
+			}
+		});
+		//Retained heap depends on the VM: reported only
+		System.out.println("Retained bytes per item: AbstractFlexibleItem=" + flexible +
+				" AbstractExpandableItem=" + expandable +
+				" AbstractCompactFlexibleItem=" + compact);
+	}
+
+	/**
+	 * @return the average retained bytes per instance over multiple runs
+	 */
+	private static long measure(Factory factory) {
+		long total = 0;
+		for (int run = 0; run < RUNS; run++) {
+			Object[] items = new Object[ITEMS];
+			long before = usedMemory();
+			for (int i = 0; i < ITEMS; i++) {
+				items[i] = factory.create();
+			}
+			long after = usedMemory();
+			//Keep the items reachable until the measure is done
+			assertTrue(items[ITEMS - 1] != null);
+			total += after - before;
+		}
+		return Math.round(total / (double) (RUNS * ITEMS));
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private interface Factory {
+		Object create();
+	}
+
+	private static List<Field> getInstanceFields(Class<?> clazz) {
+		List<Field> fields = new ArrayList<Field>();
+		for (Field field : clazz.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) fields.add(field);
+		}
+		return fields;
+	}
+
+	private static void toggle(IFlexible item, int flag) {
+		switch (flag) {
+			case 0:
+				item.setEnabled(!item.isEnabled());
+				break;
+			case 1:
+				item.setHidden(!item.isHidden());
+				break;
+			case 2:
+				item.setSelectable(!item.isSelectable());
+				break;
+			case 3:
+				item.setDraggable(!item.isDraggable());
+				break;
+			default:
+				item.setSwipeable(!item.isSwipeable());
+		}
+	}
+
+	private static void assertSameFlags(IFlexible expected, IFlexible actual) {
+		assertEquals(expected.isEnabled(), actual.isEnabled());
+		assertEquals(expected.isHidden(), actual.isHidden());
+		assertEquals(expected.isSelectable(), actual.isSelectable());
+		assertEquals(expected.isDraggable(), actual.isDraggable());
+		assertEquals(expected.isSwipeable(), actual.isSwipeable());
+	}
+
+	static class FlexibleItem extends AbstractFlexibleItem {
+		@Override
+		public boolean equals(Object o) {
+			return this == o;
+		}
+	}
+
+	static class ExpandableItem extends AbstractExpandableItem {
+		@Override
+		public boolean equals(Object o) {
+			return this == o;
+		}
+	}
+
+	static class CompactItem extends AbstractCompactFlexibleItem {
+		@Override
+		public boolean equals(Object o) {
+			return this == o;
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark of the reads of the main thread, as during the scroll, while background threads
+ * iterate the items: the published snapshots of the Adapter against the previous
+ * {@code Collections.synchronizedList}. Times are only reported.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ItemsContentionBenchmark {
+
+	private static final int ITEMS = 10000;
+	private static final int PASSES = 200;
+	private static final int READERS = 3;
+
+	@Test
+	public void testContentionBenchmark() throws Exception {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < ITEMS; i++) {
+			items.add(DatabaseService.newSimpleItem(i, null));
+		}
+		//Warm up
+		runSynchronizedList(items);
+		runSnapshots(items);
+
+		long synchronizedTime = runSynchronizedList(items);
+		long snapshotTime = runSnapshots(items);
+		System.out.println(PASSES + " passes on " + ITEMS + " items with " + READERS +
+				" background readers: synchronizedList=" + synchronizedTime / 1000000 +
+				"ms snapshots=" + snapshotTime / 1000000 + "ms");
+	}
+
+	private long runSynchronizedList(List<AbstractFlexibleItem> items) throws Exception {
+		final List<AbstractFlexibleItem> list = Collections.synchronizedList(new ArrayList<AbstractFlexibleItem>(items));
+		Readers readers = new Readers() {
+			@Override
+			int read() {
+				int count = 0;
+				//Iteration must be protected by the lock of the list
+				synchronized (list) {
+					for (AbstractFlexibleItem item : list) {
+						if (item != null) count++;
+					}
+				}
+				return count;
+			}
+		};
+		readers.start();
+		long start = System.nanoTime();
+		for (int pass = 0; pass < PASSES; pass++) {
+			for (int position = 0; position < list.size(); position++) {
+				list.get(position).getLayoutRes();
+			}
+		}
+		long time = System.nanoTime() - start;
+		readers.stop();
+		return time;
+	}
+
+	private long runSnapshots(List<AbstractFlexibleItem> items) throws Exception {
+		final FlexibleAdapter<AbstractFlexibleItem> adapter =
+				new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(items));
+		Readers readers = new Readers() {
+			@Override
+			int read() {
+				int count = 0;
+				for (AbstractFlexibleItem item : adapter.getCurrentItems()) {
+					if (item != null) count++;
+				}
+				return count;
+			}
+		};
+		readers.start();
+		long start = System.nanoTime();
+		for (int pass = 0; pass < PASSES; pass++) {
+			for (int position = 0; position < adapter.getItemCount(); position++) {
+				adapter.getItem(position).getLayoutRes();
+			}
+		}
+		long time = System.nanoTime() - start;
+		readers.stop();
+		return time;
+	}
+
+	private abstract class Readers {
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final CountDownLatch stopped = new CountDownLatch(READERS);
+		volatile int count;
+
+		abstract int read();
+
+		void start() {
+			for (int i = 0; i < READERS; i++) {
+				new Thread(new Runnable() {
+					@Override
+					public void run() {
+						do {
+							count = read();
+						} while (running.get());
+						stopped.countDown();
+					}
+				}).start();
+			}
+		}
+
+		void stop() throws Exception {
+			running.set(false);
+			stopped.await();
+			assertEquals(ITEMS, count);
+		}
+	}
+
+}
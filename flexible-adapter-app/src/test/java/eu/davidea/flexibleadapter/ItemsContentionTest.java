@@ -0,0 +1,131 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Background threads read a consistent snapshot of the items while the main thread modifies
+ * them: the snapshot is published at the end of each modification.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ItemsContentionTest {
+
+	private static final int ITEMS = 1000;
+	private static final int READERS = 3;
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < ITEMS; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i + 1, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+	}
+
+	@Test
+	public void testSnapshotIsConsistent() throws Exception {
+		List<AbstractFlexibleItem> before = mAdapter.getCurrentItems();
+		mAdapter.removeRange(0, 10);
+		//The previous snapshot is not affected by the modification
+		assertEquals(ITEMS, before.size());
+		//Main thread obtains immediately the new snapshot
+		assertEquals(ITEMS - 10, mAdapter.getCurrentItems().size());
+		//Without modifications, the same snapshot is returned
+		assertSame(mAdapter.getCurrentItems(), mAdapter.getCurrentItems());
+	}
+
+	@Test
+	public void testSnapshotPublishedByModifications() throws Exception {
+		//Published at construction
+		assertEquals(mItems, readInBackground());
+		mAdapter.removeRange(0, 10);
+		//Published at the end of the operation, without waiting the next loop
+		assertEquals(mItems.subList(10, ITEMS), readInBackground());
+		mAdapter.beginBatch();
+		mAdapter.removeRange(0, 10);
+		//The batch in progress is not visible to the other threads
+		assertEquals(mItems.subList(10, ITEMS), readInBackground());
+		assertEquals(ITEMS - 20, mAdapter.getCurrentItems().size());
+		assertEquals(mItems.subList(10, ITEMS), readInBackground());
+		mAdapter.commit();
+		assertEquals(mItems.subList(20, ITEMS), readInBackground());
+	}
+
+	@Test
+	public void testSnapshotsDuringModifications() throws Exception {
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		final CountDownLatch stopped = new CountDownLatch(READERS);
+		for (int i = 0; i < READERS; i++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						while (running.get()) {
+							//Items are only added at the end: each snapshot is a prefix of the items
+							List<AbstractFlexibleItem> snapshot = mAdapter.getCurrentItems();
+							for (int i = 0; i < snapshot.size(); i++) {
+								if (snapshot.get(i) != mItems.get(i)) throw new AssertionError("Inconsistent at " + i);
+							}
+						}
+					} catch (Throwable e) {
+						error.set(e);
+					} finally {
+						stopped.countDown();
+					}
+				}
+			}).start();
+		}
+		List<AbstractFlexibleItem> newItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = ITEMS; i < 2 * ITEMS; i++) {
+			newItems.add(DatabaseService.newSimpleItem(i + 1, null));
+		}
+		mItems.addAll(newItems);
+		for (AbstractFlexibleItem item : newItems) {
+			mAdapter.addItem(mAdapter.getItemCount(), item);
+		}
+		running.set(false);
+		assertTrue(stopped.await(5, TimeUnit.SECONDS));
+		assertNull(error.get());
+		assertEquals(mItems, mAdapter.getCurrentItems());
+	}
+
+	private List<AbstractFlexibleItem> readInBackground() throws Exception {
+		final AtomicReference<List<AbstractFlexibleItem>> read = new AtomicReference<List<AbstractFlexibleItem>>();
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				read.set(mAdapter.getCurrentItems());
+			}
+		});
+		reader.start();
+		reader.join(5000);
+		return read.get();
+	}
+
+}
@@ -0,0 +1,136 @@
+package eu.davidea.flexibleadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.models.SimpleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Operations enqueued from multiple threads are executed in order, in a single batch.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class MutationQueueTest {
+
+	private static final int PRODUCERS = 4, ITEMS_PER_PRODUCER = 500;
+
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	int mInsertions;
+
+	@Before
+	public void setUp() throws Exception {
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>());
+		mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+			@Override
+			public void onItemRangeInserted(int positionStart, int itemCount) {
+				mInsertions++;
+			}
+		});
+	}
+
+	@Test
+	public void testProducersOnMultipleThreads() throws Exception {
+		ShadowLooper.pauseMainLooper();
+		List<Thread> producers = new ArrayList<Thread>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			final int producer = p;
+			producers.add(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < ITEMS_PER_PRODUCER; i++) {
+						final AbstractFlexibleItem item =
+								DatabaseService.newSimpleItem(producer * ITEMS_PER_PRODUCER + i, null);
+						mAdapter.enqueueMutation(new Runnable() {
+							@Override
+							public void run() {
+								mAdapter.addItem(mAdapter.getItemCount(), item);
+							}
+						});
+					}
+				}
+			}));
+		}
+		for (Thread producer : producers) producer.start();
+		for (Thread producer : producers) producer.join();
+		//Nothing is executed outside the main thread
+		assertEquals(0, mAdapter.getItemCount());
+		assertTrue(mAdapter.hasPendingMutations());
+
+		while (mAdapter.hasPendingMutations()) {
+			ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		}
+		assertEquals(PRODUCERS * ITEMS_PER_PRODUCER, mAdapter.getItemCount());
+		assertEquals(1, mInsertions);
+		assertFalse(mAdapter.isBatching());
+
+		//The order of each producer is preserved
+		int[] last = new int[PRODUCERS];
+		for (int i = 0; i < mAdapter.getItemCount(); i++) {
+			int id = Integer.parseInt(((SimpleItem) mAdapter.getItem(i)).getId().substring(1));
+			int producer = id / ITEMS_PER_PRODUCER;
+			assertTrue(id % ITEMS_PER_PRODUCER >= last[producer]);
+			last[producer] = id % ITEMS_PER_PRODUCER;
+		}
+	}
+
+	@Test
+	public void testMutationsEnqueuedByMutations() throws Exception {
+		ShadowLooper.pauseMainLooper();
+		mAdapter.enqueueMutation(new Runnable() {
+			@Override
+			public void run() {
+				int position = mAdapter.getItemCount();
+				mAdapter.addItem(position, DatabaseService.newSimpleItem(position, null));
+				//A continuous producer: the next operation is executed at the next frame
+				if (position < 2) mAdapter.enqueueMutation(this);
+			}
+		});
+		while (mAdapter.hasPendingMutations()) {
+			ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		}
+		assertEquals(3, mAdapter.getItemCount());
+		assertEquals(3, mInsertions);
+	}
+
+	@Test
+	public void testSelectionOfEnqueuedMutations() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			mAdapter.addItem(i, DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter.toggleSelection(5);
+		mAdapter.toggleSelection(8);
+		ShadowLooper.pauseMainLooper();
+		mAdapter.enqueueMutation(new Runnable() {
+			@Override
+			public void run() {
+				mAdapter.removeItem(2);
+				//Selected item 5 is now at position 4
+				mAdapter.removeItem(4);
+			}
+		});
+		while (mAdapter.hasPendingMutations()) {
+			ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		}
+		assertEquals(Arrays.asList(6), mAdapter.getSelectedPositions());
+	}
+
+}
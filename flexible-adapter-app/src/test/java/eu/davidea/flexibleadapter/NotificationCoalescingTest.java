@@ -0,0 +1,92 @@
+package eu.davidea.flexibleadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Compound operations deliver the minimal sequence of notifications.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class NotificationCoalescingTest {
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	List<String> mEvents = new ArrayList<String>();
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 20; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+		mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+			@Override
+			public void onItemRangeInserted(int positionStart, int itemCount) {
+				mEvents.add("insert " + positionStart + "," + itemCount);
+			}
+
+			@Override
+			public void onItemRangeRemoved(int positionStart, int itemCount) {
+				mEvents.add("remove " + positionStart + "," + itemCount);
+			}
+
+			@Override
+			public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+				mEvents.add("change " + positionStart + "," + itemCount);
+			}
+
+			@Override
+			public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+				mEvents.add("move " + fromPosition + "," + toPosition);
+			}
+		});
+	}
+
+	@Test
+	public void testRestoreDeletedItems() throws Exception {
+		mAdapter.removeItems(Arrays.asList(8, 7, 6, 5));
+		assertEquals(Arrays.asList("remove 5,4"), mEvents);
+		mEvents.clear();
+
+		mAdapter.restoreDeletedItems();
+		//Previously: 4 separate insertions at the same position
+		assertEquals(Arrays.asList("insert 5,4"), mEvents);
+		assertContent(mItems);
+	}
+
+	@Test
+	public void testRemoveItems() throws Exception {
+		mAdapter.removeItems(Arrays.asList(2, 4, 6));
+		//Not adjacent ranges cannot be merged
+		assertEquals(Arrays.asList("remove 6,1", "remove 4,1", "remove 2,1"), mEvents);
+		assertEquals(mItems.size() - 3, mAdapter.getItemCount());
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
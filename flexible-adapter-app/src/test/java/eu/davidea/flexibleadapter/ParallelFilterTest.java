@@ -0,0 +1,104 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IFilterable;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Items matched in parallel are collected in the original order.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ParallelFilterTest {
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	AtomicInteger mMatches = new AtomicInteger();
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 10000; i++) {
+			mItems.add(DatabaseService.newSimpleItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems)) {
+			@Override
+			protected boolean filterObject(AbstractFlexibleItem item, String constraint) {
+				mMatches.incrementAndGet();
+				return super.filterObject(item, constraint);
+			}
+		};
+		mAdapter.setParallelFilter(true);
+	}
+
+	@Test
+	public void testResultInOriginalOrder() throws Exception {
+		filter("item 12");
+		//Items are not matched again while collecting the results
+		assertEquals(mItems.size(), mMatches.get());
+		assertContent(expected("item 12"));
+
+		filter("");
+		assertContent(mItems);
+	}
+
+	@Test
+	public void testFilterObjectFailure() throws Exception {
+		final AbstractFlexibleItem failingItem = mItems.get(mItems.size() - 1);
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems)) {
+			@Override
+			protected boolean filterObject(AbstractFlexibleItem item, String constraint) {
+				if (item == failingItem) throw new IllegalStateException();
+				return super.filterObject(item, constraint);
+			}
+		};
+		mAdapter.setParallelFilter(true);
+		try {
+			filter("item 12");
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			//The next filter is matched in parallel again
+			mItems.remove(failingItem);
+			filter("item 12");
+			assertContent(expected("item 12"));
+		}
+	}
+
+	private void filter(String searchText) {
+		mAdapter.setSearchText(searchText);
+		mAdapter.filterItems(new ArrayList<AbstractFlexibleItem>(mItems));
+	}
+
+	private List<AbstractFlexibleItem> expected(String searchText) {
+		List<AbstractFlexibleItem> filtered = new ArrayList<AbstractFlexibleItem>();
+		for (AbstractFlexibleItem item : mItems) {
+			if (((IFilterable) item).filter(searchText)) filtered.add(item);
+		}
+		return filtered;
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IExpandable;
+import eu.davidea.flexibleadapter.items.IHeader;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The same item instances displayed by 2 Adapters keeping their own state.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class SharedItemsTest {
+
+	List<AbstractFlexibleItem> mItems;
+	FlexibleAdapter<AbstractFlexibleItem> mFirstAdapter, mSecondAdapter;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = new ArrayList<AbstractFlexibleItem>();
+		IHeader header = DatabaseService.newHeader(1);
+		for (int i = 1; i <= 10; i++) {
+			mItems.add(DatabaseService.newExpandableItem(i, header));
+		}
+		mFirstAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+		mFirstAdapter.setSharedItems(true);
+		mSecondAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+		mSecondAdapter.setSharedItems(true);
+	}
+
+	@Test
+	public void testExpansionIsNotShared() throws Exception {
+		int subItems = mFirstAdapter.expand(0);
+		assertTrue(subItems > 0);
+		assertTrue(mFirstAdapter.isExpanded(0));
+		assertEquals(mItems.size() + subItems, mFirstAdapter.getItemCount());
+		//Items and second Adapter are untouched
+		assertFalse(((IExpandable) mItems.get(0)).isExpanded());
+		assertFalse(mSecondAdapter.isExpanded(0));
+		assertEquals(mItems.size(), mSecondAdapter.getItemCount());
+	}
+
+	@Test
+	public void testHeadersAreNotShared() throws Exception {
+		IHeader header = mFirstAdapter.getHeaderOf(mItems.get(0));
+		mFirstAdapter.showAllHeaders();
+		assertTrue(mFirstAdapter.getGlobalPositionOf(header) >= 0);
+		assertTrue(header.isHidden());
+		assertEquals(-1, mSecondAdapter.getGlobalPositionOf(header));
+	}
+
+	@Test
+	public void testEnabledIsNotShared() throws Exception {
+		mFirstAdapter.setEnabled(mItems.get(1), false);
+		assertFalse(mFirstAdapter.isEnabled(1));
+		assertTrue(mSecondAdapter.isEnabled(1));
+		assertTrue(mItems.get(1).isEnabled());
+	}
+
+	@Test
+	public void testStateOfRemovedItems() throws Exception {
+		int subItems = mFirstAdapter.expand(0);
+		//The removed subItem is hidden, its state survives the collapse
+		mFirstAdapter.removeItem(1);
+		mFirstAdapter.collapse(0);
+		assertEquals(subItems - 1, mFirstAdapter.expand(0));
+		//The state of the removed items starts again from the items
+		AbstractFlexibleItem item = mFirstAdapter.getItem(subItems);
+		mFirstAdapter.removeItem(subItems);
+		mFirstAdapter.addItem(0, item);
+		assertFalse(mFirstAdapter.isExpanded(0));
+		assertTrue(mFirstAdapter.isEnabled(0));
+	}
+
+}
@@ -0,0 +1,149 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import eu.davidea.flexibleadapter.utils.TreeList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Correctness of the TreeList against the ArrayList, also with equal elements and on a
+ * flattened hierarchy of many items.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+public class TreeListTest {
+
+	private static final int ITEMS = 100000;
+	private static final int RANGE = 50;
+	private static final int OPERATIONS = 2000;
+
+	@Test
+	public void testSameBehaviourOfArrayList() throws Exception {
+		Random random = new Random(7);
+		List<Object> expected = new ArrayList<Object>();
+		List<Object> actual = new TreeList<Object>();
+		for (int i = 0; i < 20000; i++) {
+			int size = expected.size();
+			switch (random.nextInt(8)) {
+				case 0:
+					int position = random.nextInt(size + 1);
+					Object item = newItem(random);
+					expected.add(position, item);
+					actual.add(position, item);
+					break;
+				case 1:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					assertSame(expected.remove(position), actual.remove(position));
+					break;
+				case 2:
+					position = random.nextInt(size + 1);
+					List<Object> range = newRange(random, random.nextInt(random.nextBoolean() ? 5 : 300));
+					expected.addAll(position, range);
+					actual.addAll(position, range);
+					break;
+				case 3:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					int end = position + random.nextInt(Math.min(size - position, 400) + 1);
+					expected.subList(position, end).clear();
+					actual.subList(position, end).clear();
+					break;
+				case 4:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					item = newItem(random);
+					assertSame(expected.set(position, item), actual.set(position, item));
+					break;
+				case 5:
+					//Equal elements, not the same instances
+					item = newItem(random);
+					assertEquals(expected.indexOf(item), actual.indexOf(item));
+					assertEquals(expected.lastIndexOf(item), actual.lastIndexOf(item));
+					assertEquals(expected.contains(item), actual.contains(item));
+					break;
+				case 6:
+					if (size == 0) break;
+					item = expected.get(random.nextInt(size));
+					assertEquals(expected.indexOf(item), actual.indexOf(item));
+					assertEquals(expected.lastIndexOf(item), actual.lastIndexOf(item));
+					break;
+				default:
+					Iterator<Object> iterator = actual.iterator();
+					for (Object object : expected) {
+						assertSame(object, iterator.next());
+					}
+					assertFalse(iterator.hasNext());
+			}
+			assertEquals(expected.size(), actual.size());
+		}
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testIteratorRemove() throws Exception {
+		Random random = new Random(7);
+		List<Object> expected = newRange(random, 1000);
+		List<Object> actual = new TreeList<Object>(expected);
+		Iterator<Object> expectedIterator = expected.iterator();
+		Iterator<Object> actualIterator = actual.iterator();
+		while (expectedIterator.hasNext()) {
+			assertSame(expectedIterator.next(), actualIterator.next());
+			if (random.nextBoolean()) {
+				expectedIterator.remove();
+				actualIterator.remove();
+			}
+		}
+		assertEquals(expected, actual);
+		for (Object item : newRange(random, 100)) {
+			assertEquals(expected.indexOf(item), actual.indexOf(item));
+		}
+	}
+
+	@Test
+	public void testExpandAndCollapseOnHugeList() throws Exception {
+		Random random = new Random(7);
+		List<Object> expected = new ArrayList<Object>(ITEMS);
+		for (int i = 0; i < ITEMS; i++) expected.add(i);
+		TreeList<Object> actual = new TreeList<Object>(expected);
+		for (int i = 0; i < OPERATIONS; i++) {
+			//Expand, lookup and collapse in the whole list
+			int position = random.nextInt(ITEMS);
+			List<Object> subItems = new ArrayList<Object>(RANGE);
+			for (int j = 0; j < RANGE; j++) subItems.add(-1 - random.nextInt(ITEMS));
+			expected.addAll(position + 1, subItems);
+			actual.addAll(position + 1, subItems);
+			assertEquals(expected.indexOf(subItems.get(0)), actual.indexOf(subItems.get(0)));
+			assertEquals(expected.lastIndexOf(subItems.get(RANGE - 1)), actual.lastIndexOf(subItems.get(RANGE - 1)));
+			assertSame(expected.get(position), actual.get(position));
+			expected.subList(position + 1, position + 1 + RANGE).clear();
+			actual.subList(position + 1, position + 1 + RANGE).clear();
+			assertEquals(position, actual.indexOf(position));
+			assertEquals(-1, actual.indexOf(subItems.get(0)));
+		}
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Few distinct values, so the list has many equal elements.
+	 */
+	private Object newItem(Random random) {
+		return new String("item" + random.nextInt(50));
+	}
+
+	private List<Object> newRange(Random random, int count) {
+		List<Object> range = new ArrayList<Object>(count);
+		for (int i = 0; i < count; i++) range.add(newItem(random));
+		return range;
+	}
+
+}
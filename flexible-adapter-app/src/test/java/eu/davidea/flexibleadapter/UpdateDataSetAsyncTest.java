@@ -0,0 +1,98 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Asynchronous updates: only the last update requested is displayed.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class UpdateDataSetAsyncTest {
+
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	List<Runnable> mTasks = new ArrayList<Runnable>();
+
+	@Before
+	public void setUp() throws Exception {
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(createItems(0, 100));
+		//Background tasks are executed on demand
+		mAdapter.setDiffExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				mTasks.add(command);
+			}
+		});
+		ShadowLooper.pauseMainLooper();
+	}
+
+	@Test
+	public void testOnlyLastUpdateIsApplied() throws Exception {
+		List<AbstractFlexibleItem> first = createItems(50, 150);
+		List<AbstractFlexibleItem> second = createItems(20, 80);
+		mAdapter.updateDataSetAsync(first);
+		runTasks();
+		mAdapter.updateDataSetAsync(second);
+		runTasks();
+		ShadowLooper.runUiThreadTasks();
+		assertContent(second);
+	}
+
+	@Test
+	public void testSyncUpdateDiscardsAsyncResult() throws Exception {
+		List<AbstractFlexibleItem> async = createItems(50, 150);
+		List<AbstractFlexibleItem> sync = createItems(0, 10);
+		mAdapter.updateDataSetAsync(async);
+		runTasks();
+		mAdapter.updateDataSet(sync, true);
+		ShadowLooper.runUiThreadTasks();
+		assertContent(sync);
+	}
+
+	@Test
+	public void testItemsModifiedWhileComputing() throws Exception {
+		List<AbstractFlexibleItem> newItems = createItems(50, 150);
+		mAdapter.updateDataSetAsync(newItems);
+		runTasks();
+		mAdapter.removeItem(0);
+		ShadowLooper.runUiThreadTasks();
+		assertContent(newItems);
+	}
+
+	private void runTasks() {
+		for (Runnable task : mTasks) task.run();
+		mTasks.clear();
+	}
+
+	private void assertContent(List<AbstractFlexibleItem> expected) {
+		assertEquals(expected.size(), mAdapter.getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), mAdapter.getItem(i));
+		}
+	}
+
+	private List<AbstractFlexibleItem> createItems(int from, int to) {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = from; i < to; i++) {
+			items.add(DatabaseService.newSimpleItem(i, null));
+		}
+		return items;
+	}
+
+}
@@ -0,0 +1,183 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.flexibleadapter.items.IFlexible;
+import eu.davidea.flexibleadapter.utils.ViewTypeCounter;
+import eu.davidea.samples.flexibleadapter.R;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the incremental ViewType counts against a full scan of the items.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ViewTypeCountTest {
+
+	private static final int HEADER = R.layout.recycler_header_item;
+	private static final int EXPANDABLE = R.layout.recycler_expandable_item;
+
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+
+	@Before
+	public void setUp() throws Exception {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = 0; i < 100; i++) {
+			items.add(i % 10 == 0 ? DatabaseService.newHeader(i) : DatabaseService.newExpandableItem(i, null));
+		}
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(items);
+	}
+
+	@Test
+	public void testCountsAfterModifications() throws Exception {
+		assertCounts();
+		mAdapter.expand(1);
+		mAdapter.expand(mAdapter.getItemCount() - 1);
+		assertCounts();
+		mAdapter.removeRange(5, 10);
+		assertCounts();
+		mAdapter.addItem(3, DatabaseService.newHeader(1000));
+		mAdapter.moveItem(3, 50);
+		assertCounts();
+		mAdapter.collapse(1);
+		mAdapter.updateItem(0, DatabaseService.newExpandableItem(1001, null), null);
+		assertCounts();
+		mAdapter.removeItemsOfType(HEADER);
+		assertEquals(0, mAdapter.getItemCountOfTypes(HEADER));
+		assertCounts();
+	}
+
+	@Test
+	public void testCounterWithBigRanges() throws Exception {
+		Random random = new Random(3);
+		List<IFlexible> items = new ArrayList<IFlexible>();
+		ViewTypeCounter counter = new ViewTypeCounter();
+		counter.reset(items);
+		for (int i = 0; i < 3000; i++) {
+			int size = items.size();
+			int position = random.nextInt(size + 1);
+			switch (random.nextInt(5)) {
+				case 0:
+					//Big ranges are inserted as new chunks
+					List<IFlexible> range = new ArrayList<IFlexible>();
+					int rangeSize = random.nextInt(400);
+					for (int j = 0; j < rangeSize; j++) range.add(newItem(random));
+					items.addAll(position, range);
+					counter.insert(position, range);
+					break;
+				case 1:
+					int itemCount = random.nextInt(size - position + 1);
+					items.subList(position, position + itemCount).clear();
+					counter.remove(position, itemCount);
+					break;
+				case 2:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					IFlexible item = newItem(random);
+					items.set(position, item);
+					counter.set(position, item);
+					break;
+				case 3:
+					if (size == 0) break;
+					position = random.nextInt(size);
+					int toPosition = random.nextInt(size);
+					items.set(toPosition, items.set(position, items.get(toPosition)));
+					counter.swap(position, toPosition);
+					break;
+				default:
+					item = newItem(random);
+					items.add(position, item);
+					counter.insert(position, Collections.singletonList(item));
+			}
+			assertEquals(items.size(), counter.size());
+			int limit = random.nextInt(items.size() + 1);
+			assertEquals(scan(items, limit, HEADER), counter.getCountUntil(limit, HEADER));
+			assertEquals(scan(items, limit, HEADER, EXPANDABLE), counter.getCountUntil(limit, HEADER, EXPANDABLE));
+			assertEquals(scan(items, items.size(), EXPANDABLE), counter.getCount(EXPANDABLE));
+			assertEquals(items.indexOf(findFirst(items, HEADER)), counter.getFirstPositionOf(HEADER));
+		}
+		assertArrayEquals(positionsOf(items, EXPANDABLE), counter.getPositionsOf(EXPANDABLE));
+	}
+
+	private IFlexible newItem(Random random) {
+		int id = random.nextInt(100000);
+		switch (random.nextInt(3)) {
+			case 0:
+				return DatabaseService.newHeader(id);
+			case 1:
+				return DatabaseService.newExpandableItem(id, null);
+			default:
+				return null;//Not counted
+		}
+	}
+
+	private IFlexible findFirst(List<IFlexible> items, int viewType) {
+		for (IFlexible item : items) {
+			if (item != null && item.getLayoutRes() == viewType) return item;
+		}
+		return null;
+	}
+
+	private int[] positionsOf(List<IFlexible> items, int viewType) {
+		int[] positions = new int[scan(items, items.size(), viewType)];
+		for (int i = 0, j = 0; i < items.size(); i++) {
+			if (items.get(i) != null && items.get(i).getLayoutRes() == viewType) positions[j++] = i;
+		}
+		return positions;
+	}
+
+	private int scan(List<IFlexible> items, int position, int... viewTypes) {
+		int count = 0;
+		for (int i = 0; i < position; i++) {
+			for (int viewType : viewTypes) {
+				if (items.get(i) != null && items.get(i).getLayoutRes() == viewType) {
+					count++;
+					break;
+				}
+			}
+		}
+		return count;
+	}
+
+	private void assertCounts() {
+		for (int position = 0; position <= mAdapter.getItemCount(); position += 7) {
+			assertEquals(scan(position, HEADER), mAdapter.getItemCountOfTypesUntil(position, HEADER));
+			assertEquals(scan(position, HEADER, EXPANDABLE),
+					mAdapter.getItemCountOfTypesUntil(position, HEADER, EXPANDABLE, HEADER));
+		}
+		int itemCount = mAdapter.getItemCount();
+		assertEquals(scan(itemCount, HEADER), mAdapter.getItemCountOfTypes(HEADER));
+		assertEquals(itemCount - scan(itemCount, HEADER, EXPANDABLE),
+				mAdapter.getItemCount() - mAdapter.getItemCountOfTypes(HEADER, EXPANDABLE));
+	}
+
+	private int scan(int position, int... viewTypes) {
+		int count = 0;
+		for (int i = 0; i < position; i++) {
+			for (int viewType : viewTypes) {
+				if (mAdapter.getItem(i).getLayoutRes() == viewType) {
+					count++;
+					break;
+				}
+			}
+		}
+		return count;
+	}
+
+}
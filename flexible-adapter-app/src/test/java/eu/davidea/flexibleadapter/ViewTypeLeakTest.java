@@ -0,0 +1,94 @@
+package eu.davidea.flexibleadapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+import eu.davidea.samples.flexibleadapter.services.DatabaseService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the items used to map the ViewTypes, to find the positions and the parents,
+ * and to filter are released after a data set update.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ViewTypeLeakTest {
+
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	WeakReference<AbstractFlexibleItem> mFirstItem, mFirstSubItem;
+
+	@Before
+	public void setUp() throws Exception {
+		List<AbstractFlexibleItem> items = createItems(0);
+		mFirstItem = new WeakReference<AbstractFlexibleItem>(items.get(0));
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(items);
+		mAdapter.setSharedItems(true);
+		//Parents and positions of the subItems are known
+		mAdapter.expand(0);
+		mFirstSubItem = new WeakReference<AbstractFlexibleItem>(mAdapter.getItem(1));
+		assertEquals(mAdapter.getItem(0), mAdapter.getExpandableOf(1));
+		assertEquals(1, mAdapter.getGlobalPositionOf(mAdapter.getItem(1)));
+		//Map the ViewTypes as the RecyclerView does
+		for (int position = 0; position < mAdapter.getItemCount(); position++) {
+			mAdapter.getItemViewType(position);
+		}
+	}
+
+	@Test
+	public void testItemsReleasedAfterUpdateDataSet() throws Exception {
+		mAdapter.updateDataSet(createItems(10));
+		assertReleased();
+	}
+
+	@Test
+	public void testItemsReleasedAfterAnimatedUpdateDataSet() throws Exception {
+		mAdapter.updateDataSet(createItems(10), true);
+		assertReleased();
+	}
+
+	@Test
+	public void testItemsReleasedAfterFilter() throws Exception {
+		mAdapter.setIndexedFilter(true)
+				.setIncrementalFilter(true)
+				.setFilterCacheSize(100);
+		List<AbstractFlexibleItem> unfilteredItems = new ArrayList<AbstractFlexibleItem>(mAdapter.getCurrentItems());
+		mAdapter.setSearchText("item");
+		mAdapter.filterItems(unfilteredItems);
+		mAdapter.setSearchText("item 1");
+		mAdapter.filterItems(unfilteredItems);
+		unfilteredItems = null;
+		mAdapter.updateDataSet(createItems(10), true);
+		assertReleased();
+	}
+
+	private List<AbstractFlexibleItem> createItems(int start) {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = start; i < start + 10; i++) {
+			items.add(DatabaseService.newExpandableItem(i, null));
+		}
+		return items;
+	}
+
+	private void assertReleased() throws Exception {
+		for (int i = 0; i < 10 && (mFirstItem.get() != null || mFirstSubItem.get() != null); i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(mFirstItem.get());
+		assertNull(mFirstSubItem.get());
+	}
+
+}
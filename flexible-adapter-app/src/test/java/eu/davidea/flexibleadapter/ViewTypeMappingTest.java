@@ -0,0 +1,147 @@
+package eu.davidea.flexibleadapter;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import eu.davidea.flexibleadapter.items.AbstractFlexibleItem;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The ViewTypes are the stable layouts of the items, and microbenchmark of the ViewType
+ * resolution performed at each bind against the previous boxed lookup.
+ *
+ * @author agent
+ * @since 18/10/2026
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ViewTypeMappingTest {
+
+	private static final int ITEMS = 1000;
+	private static final int PASSES = 1000;
+	private static final int LAYOUT_HEADER = 1, LAYOUT_ITEM = 2;
+
+	FlexibleAdapter<AbstractFlexibleItem> mAdapter;
+	List<AbstractFlexibleItem> mItems;
+
+	@Before
+	public void setUp() throws Exception {
+		mItems = createItems(0);
+		mAdapter = new FlexibleAdapter<AbstractFlexibleItem>(new ArrayList<AbstractFlexibleItem>(mItems));
+	}
+
+	@Test
+	public void testViewTypesAreStable() throws Exception {
+		for (int pass = 0; pass < 2; pass++) {
+			for (int position = 0; position < ITEMS; position++) {
+				assertEquals(mAdapter.getItem(position).getLayoutRes(), mAdapter.getItemViewType(position));
+			}
+		}
+		//Same ViewTypes for the same layouts, also with new items
+		mAdapter.updateDataSet(createItems(ITEMS));
+		for (int position = 0; position < ITEMS; position++) {
+			assertEquals(position % 10 == 0 ? LAYOUT_HEADER : LAYOUT_ITEM, mAdapter.getItemViewType(position));
+		}
+	}
+
+	@Test
+	public void testViewTypeResolutionBenchmark() throws Exception {
+		//Warm up: the first call maps the ViewTypes
+		resolveBoxed();
+		resolveViewTypes();
+
+		long start = System.nanoTime();
+		int boxedChecksum = resolveBoxed();
+		long boxedTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		int checksum = resolveViewTypes();
+		long time = System.nanoTime() - start;
+
+		System.out.println(ITEMS * PASSES + " getItemViewType: HashMap<Integer>=" + boxedTime / 1000000 +
+				"ms SparseArray=" + time / 1000000 + "ms");
+		assertEquals(boxedChecksum, checksum);
+	}
+
+	/**
+	 * Previous implementation: boxed lookup on every call.
+	 */
+	private int resolveBoxed() {
+		HashMap<Integer, AbstractFlexibleItem> typeInstances = new HashMap<Integer, AbstractFlexibleItem>();
+		int checksum = 0;
+		for (int pass = 0; pass < PASSES; pass++) {
+			for (AbstractFlexibleItem item : mItems) {
+				if (!typeInstances.containsKey(item.getLayoutRes()))
+					typeInstances.put(item.getLayoutRes(), item);
+				checksum += item.getLayoutRes();
+			}
+		}
+		return checksum;
+	}
+
+	private int resolveViewTypes() {
+		int checksum = 0;
+		for (int pass = 0; pass < PASSES; pass++) {
+			for (int position = 0; position < ITEMS; position++) {
+				checksum += mAdapter.getItemViewType(position);
+			}
+		}
+		return checksum;
+	}
+
+	private List<AbstractFlexibleItem> createItems(int start) {
+		List<AbstractFlexibleItem> items = new ArrayList<AbstractFlexibleItem>();
+		for (int i = start; i < start + ITEMS; i++) {
+			items.add(new LayoutItem("L" + i, i % 10 == 0 ? LAYOUT_HEADER : LAYOUT_ITEM));
+		}
+		return items;
+	}
+
+	static class LayoutItem extends AbstractFlexibleItem<RecyclerView.ViewHolder> {
+
+		final String id;
+		final int layout;
+
+		LayoutItem(String id, int layout) {
+			this.id = id;
+			this.layout = layout;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof LayoutItem && id.equals(((LayoutItem) o).id);
+		}
+
+		@Override
+		public int hashCode() {
+			return id.hashCode();
+		}
+
+		@Override
+		public int getLayoutRes() {
+			return layout;
+		}
+
+		@Override
+		public RecyclerView.ViewHolder createViewHolder(FlexibleAdapter adapter, LayoutInflater inflater, ViewGroup parent) {
+			return null;
+		}
+
+		@Override
+		public void bindViewHolder(FlexibleAdapter adapter, RecyclerView.ViewHolder holder, int position, List payloads) {
+		}
+	}
+
+}
@@ -98,7 +98,18 @@ public abstract class AnimatorAdapter extends SelectableAdapter {
 	 * Simple Constructor for Animator Adapter.
 	 */
 	public AnimatorAdapter() {
+		this(false);
+	}
+
+	/**
+	 * Constructor for Animator Adapter with stable ids.
+	 * <p>Stable ids must be configured before any observer is registered.</p>
+	 *
+	 * @param stableIds true if each item has a stable id, false otherwise
+	 */
+	public AnimatorAdapter(boolean stableIds) {
 		super();
+		setHasStableIds(stableIds);
 
 		//Get notified when an item is changed (should skip animation)
 		mAnimatorNotifierObserver = new AnimatorAdapterDataObserver();
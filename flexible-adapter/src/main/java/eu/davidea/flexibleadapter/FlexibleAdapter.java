@@ -15,8 +15,9 @@
  */
 package eu.davidea.flexibleadapter;
 
-import android.annotation.SuppressLint;
+import android.annotation.TargetApi;
 import android.app.Activity;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -31,28 +32,57 @@ import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.StaggeredGridLayoutManager;
 import android.support.v7.widget.helper.ItemTouchHelper;
 import android.util.Log;
+import android.util.SparseArray;
+import android.view.Choreographer;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import eu.davidea.flexibleadapter.common.SmoothScrollGridLayoutManager;
 import eu.davidea.flexibleadapter.common.SmoothScrollLinearLayoutManager;
 import eu.davidea.flexibleadapter.helpers.ItemTouchHelperCallback;
 import eu.davidea.flexibleadapter.helpers.StickyHeaderHelper;
+import eu.davidea.flexibleadapter.items.IDiffable;
 import eu.davidea.flexibleadapter.items.IExpandable;
 import eu.davidea.flexibleadapter.items.IFilterable;
 import eu.davidea.flexibleadapter.items.IFlexible;
 import eu.davidea.flexibleadapter.items.IHeader;
+import eu.davidea.flexibleadapter.items.IIdentifiable;
+import eu.davidea.flexibleadapter.items.ISearchable;
 import eu.davidea.flexibleadapter.items.ISectionable;
+import eu.davidea.flexibleadapter.utils.ChunkedList;
+import eu.davidea.flexibleadapter.utils.ItemDiff;
+import eu.davidea.flexibleadapter.utils.ItemStates;
+import eu.davidea.flexibleadapter.utils.NotificationBuffer;
+import eu.davidea.flexibleadapter.utils.PositionIndex;
+import eu.davidea.flexibleadapter.utils.SearchIndex;
+import eu.davidea.flexibleadapter.utils.TreeList;
+import eu.davidea.flexibleadapter.utils.Utils;
+import eu.davidea.flexibleadapter.utils.ViewTypeCounter;
 import eu.davidea.viewholders.ExpandableViewHolder;
 import eu.davidea.viewholders.FlexibleViewHolder;
 
@@ -104,9 +134,41 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	/**
 	 * The main container for ALL items.
+	 * <p>Single writer: it is modified and read by the main thread only, without locking.</p>
 	 */
 	private List<T> mItems;
 
+	/**
+	 * Immutable copy of the main container, published for the readers on other threads.
+	 * <p>The copy is published on the main thread when the notifications of a modification
+	 * are delivered: at the end of each operation, compound operation and batch.</p>
+	 */
+	private volatile List<T> mSnapshot;
+	private boolean mSnapshotDirty = false;
+
+	/**
+	 * Index of the item positions, it must be updated at every structural change of the main
+	 * container.
+	 */
+	private final PositionIndex mPositionIndex = new PositionIndex();
+
+	/**
+	 * Links of the subItems to their expanded parent, to retrieve the parent without scanning
+	 * the list. The subItems are linked when their parent is expanded, is inserted or added
+	 * expanded, and when new subItems are added to it.
+	 */
+	private final IdentityHashMap<T, ParentLink> mParents = new IdentityHashMap<T, ParentLink>();
+
+	/**
+	 * Count of the items for each ViewType, updated at every insertion and removal.
+	 */
+	private final ViewTypeCounter mTypeCounter = new ViewTypeCounter();
+
+	/**
+	 * State of the items kept by this Adapter when items are shared, null otherwise.
+	 */
+	private ItemStates mItemStates;
+
 	/**
 	 * Header/Section items
 	 */
@@ -125,7 +187,8 @@ public class FlexibleAdapter<T extends IFlexible>
 		public boolean handleMessage(Message message) {
 			switch (message.what) {
 				case 0: //filterItems
-					filterItems((List<T>) message.obj);
+					if (filterInBackground) filterItemsAsync((List<T>) message.obj);
+					else filterItems((List<T>) message.obj);
 					return true;
 				case 1: //confirm delete
 					OnDeleteCompleteListener listener = (OnDeleteCompleteListener) message.obj;
@@ -144,19 +207,91 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * Used to save deleted items and to recover them (Undo).
 	 */
 	private List<RestoreInfo> mRestoreList;
+	/* Notifications of the compound operations, delivered at the end */
+	private final NotificationBuffer mNotificationBuffer = new NotificationBuffer();
+	/* Batch of operations, the header bookkeeping is deferred at commit */
+	private int mBatchDepth = 0, mBatchInitialCount;
+	private boolean flushingNotifications = false;
+	private final List<T> mBatchItems = new ArrayList<T>();
+	/* Operations enqueued by any thread, executed in a single batch at the next frame */
+	private final Queue<Runnable> mMutations = new ConcurrentLinkedQueue<Runnable>();
+	private final AtomicBoolean mDrainScheduled = new AtomicBoolean(false);
+	private final Runnable mMutationsDrainer = new Runnable() {
+		@Override
+		public void run() {
+			drainMutations();
+		}
+	};
+	private final Runnable mMutationsScheduler = new Runnable() {
+		@Override
+		public void run() {
+			postOnNextFrame(mMutationsDrainer);
+		}
+	};
 	private boolean restoreSelection = false, multiRange = false, unlinkOnRemoveHeader = false,
 			removeOrphanHeaders = false, permanentDelete = false, adjustSelected = true;
 
 	/* ViewTypes */
 	protected LayoutInflater mInflater;
-	@SuppressLint("UseSparseArrays")//We can usually count Type instances on the fingers of a hand
-	private HashMap<Integer, T> mTypeInstances = new HashMap<Integer, T>();
+	/* Items are weakly referenced: they must not be retained after a data set update */
+	private final SparseArray<WeakReference<T>> mTypeInstances = new SparseArray<WeakReference<T>>();
+	private final SparseArray<ViewHolderFactory> mViewHolderFactories = new SparseArray<ViewHolderFactory>();
 	private boolean autoMap = false;
 
 	/* Filter */
 	private String mSearchText = "", mOldSearchText = "";
 	private List<IExpandable> mExpandedFilterFlags;
 	private boolean mNotifyChangeOfUnfilteredItems = false, filtering = false;
+	/* Background filter: matching results of the current generation only */
+	private boolean filterInBackground = false;
+	private volatile int mFilterGeneration = 0;
+	private Map<IFlexible, Boolean> mFilterResults;
+	/* Incremental filter: items and subItems matched by the last search text */
+	private boolean incrementalFilter = false;
+	private String mFilterCandidatesText;
+	private List<T> mFilterCandidates;
+	private int mFilterUnfilteredCount, mFilterUnfilteredGeneration;
+	/* Modifications of the items not performed by the filter itself */
+	private int mDataSetGeneration = 0;
+	private Set<IFlexible> mFilterMatches;
+	/* Indexed filter: trigrams of the searchable text of the last unfilteredItems */
+	private SearchIndex<T> mFilterIndex;
+	/* Parallel filter: the candidates are matched in chunks on all the cores */
+	private boolean parallelFilter = false;
+	private static final int MIN_PARALLEL_CHUNK = 256;
+	private static ExecutorService sFilterExecutor;
+	/* Filter cache: results of the recent search texts over the same unfilteredItems */
+	private LinkedHashMap<String, FilterResult> mFilterCache;
+	private int mFilterCacheSize;
+	private int mFilterCacheCount, mFilterCacheGeneration;
+	private Map<IFlexible, Boolean> mFilterCacheResults;
+	/* Beyond this number of edits, the moves are found with the LIS instead of Myers */
+	private static final int MAX_DIFF_EDITS = 1000;
+	/* Beyond this number of moves, the moves are performed on a TreeList */
+	private static final int MAX_MOVES_IN_PLACE = 32;
+	/* Adaptive updates: maximum animated notifications for each visible item */
+	public static final int MAX_NOTIFICATIONS_PER_VISIBLE_ITEM = 4;
+	private boolean adaptiveUpdates = false;
+
+	/* Asynchronous updates: only the results of the last generation are applied */
+	private static Executor sDefaultDiffExecutor;
+	private Executor mDiffExecutor;
+	private volatile int mUpdateGeneration = 0;
+
+	/* Chunked updates: big mutations are applied in slices, within a time budget per frame */
+	public static final long DEFAULT_FRAME_BUDGET = 8L;
+	private static final int SLICE_SIZE = 64;
+	private long mFrameBudgetNanos = 0L;
+	private final List<SlicedUpdate> mSlicedUpdates = new ArrayList<SlicedUpdate>();
+	private boolean mSlicesScheduled = false, mApplyingSlices = false;
+	/* Items processed by the chunked updates completed since the queue was empty */
+	private int mSlicesProcessed = 0;
+	private final Runnable mSlicesRunnable = new Runnable() {
+		@Override
+		public void run() {
+			onSlicesFrame();
+		}
+	};
 
 	/* Expandable flags */
 	private int minCollapsibleLevel = 0, selectedLevel = -1;
@@ -181,6 +316,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	protected OnItemSwipeListener mItemSwipeListener;
 	protected OnStickyHeaderChangeListener mStickyHeaderChangeListener;
 	protected EndlessScrollListener mEndlessScrollListener;
+	protected OnChunkedUpdateListener mChunkedUpdateListener;
 
 	/*--------------*/
 	/* CONSTRUCTORS */
@@ -199,7 +335,9 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * Main Constructor with all managed listeners for ViewHolder and the Adapter itself.
 	 * <p>The listener must be a single instance of a class, usually <i>Activity</i> or <i>Fragment</i>,
 	 * where you can implement how to handle the different events.</p>
-	 * Any write operation performed on the items list is <u>synchronized</u>.
+	 * Any operation performed on the items list must be done in the main thread: reads are not
+	 * synchronized, other threads can read a consistent copy with {@link #getCurrentItems()} and
+	 * can submit their operations with {@link #enqueueMutation(Runnable)}.
 	 * <p><b>PASS ALWAYS A <u>COPY</u> OF THE ORIGINAL LIST</b>: <i>new ArrayList&lt;T&gt;(originalList);</i></p>
 	 *
 	 * @param items     items to display
@@ -210,9 +348,30 @@ public class FlexibleAdapter<T extends IFlexible>
 	 *                  <br/>- {@link OnItemMoveListener}
 	 *                  <br/>- {@link OnItemSwipeListener}
 	 *                  <br/>- {@link OnStickyHeaderChangeListener}
+	 *                  <br/>- {@link OnChunkedUpdateListener}
 	 */
 	public FlexibleAdapter(@NonNull List<T> items, @Nullable Object listeners) {
-		mItems = Collections.synchronizedList(items);
+		this(items, listeners, false);
+	}
+
+	/**
+	 * Same as {@link #FlexibleAdapter(List, Object)} with the possibility to enable stable ids.
+	 * <p>With stable ids, the ViewHolders bound to items having the same id are reused by the
+	 * RecyclerView after a full refresh ({@link #updateDataSet(List, boolean)} with
+	 * {@code animate=false}), instead of being all rebound and re-measured.</p>
+	 * <b>Note:</b> All items must implement {@link IIdentifiable} and return a unique id.
+	 *
+	 * @param items     items to display
+	 * @param listeners can be an instance of any listener, see {@link #FlexibleAdapter(List, Object)}
+	 * @param stableIds true if each item has a stable id, false otherwise
+	 * @see IIdentifiable
+	 */
+	public FlexibleAdapter(@NonNull List<T> items, @Nullable Object listeners, boolean stableIds) {
+		super(stableIds);
+		mItems = items;
+		mTypeCounter.reset(items);
+		mSnapshot = Collections.unmodifiableList(new ArrayList<T>(items));
+		linkSubItemsOfExpanded(items);
 		mRestoreList = new ArrayList<RestoreInfo>();
 		mOrphanHeaders = new ArrayList<IHeader>();
 
@@ -245,6 +404,8 @@ public class FlexibleAdapter<T extends IFlexible>
 			mItemSwipeListener = (OnItemSwipeListener) listeners;
 		if (listeners instanceof OnStickyHeaderChangeListener)
 			mStickyHeaderChangeListener = (OnStickyHeaderChangeListener) listeners;
+		if (listeners instanceof OnChunkedUpdateListener)
+			mChunkedUpdateListener = (OnChunkedUpdateListener) listeners;
 		return this;
 	}
 
@@ -275,21 +436,160 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * @return this Adapter, so the call can be chained
 	 */
 	public FlexibleAdapter expandItemsAtStartUp() {
-		int position = 0;
+		expandItemsAtStartUp(0, mItems.size());
+		return this;
+	}
+
+	/**
+	 * Expands the items initially expanded in the range of positions.
+	 *
+	 * @return the end of the range, moved after the subItems expanded
+	 */
+	private int expandItemsAtStartUp(int position, int positionEnd) {
 		setInitialize(true);
 		multiRange = true;
-		while (position < mItems.size()) {
+		while (position < positionEnd && position < mItems.size()) {
 			T item = getItem(position);
 			if (isExpanded(item)) {
-				position += expand(position, false, true);
-				if (!headersShown && isHeader(item) && !item.isHidden())
+				int subItemsCount = expand(position, false, true);
+				position += subItemsCount;
+				positionEnd += subItemsCount;
+				if (!headersShown && isHeader(item) && !isItemHidden(item))
 					headersShown = true;
 			}
 			position++;
 		}
 		multiRange = false;
 		setInitialize(false);
-		return this;
+		return positionEnd;
+	}
+
+	/**
+	 * Must be called after items have been inserted in the main container.
+	 *
+	 * @param positionStart the position of the first item inserted
+	 * @param items         the items inserted
+	 */
+	private void onItemsInserted(int positionStart, List<T> items) {
+		mPositionIndex.insert(positionStart, items);
+		mTypeCounter.insert(positionStart, items);
+		linkSubItemsOfExpanded(items);
+		onDataSetModified();
+	}
+
+	/**
+	 * Must be called after a range of items has been removed from the main container.
+	 *
+	 * @param positionStart the position of the first item removed
+	 * @param items         the items removed
+	 */
+	private void onItemsRemoved(int positionStart, List<T> items) {
+		mPositionIndex.remove(positionStart, items.size());
+		mTypeCounter.remove(positionStart, items.size());
+		for (T item : items) {
+			//A child still owned by the parent keeps the link, it might be moved
+			ParentLink parentLink = mParents.get(item);
+			if (parentLink != null && !parentLink.update(item)) mParents.remove(item);
+			if (mItemStates != null) mItemStates.release(item);
+			//Release the children of a removed parent
+			if (isExpandable(item) && hasSubItems((IExpandable) item)) {
+				for (T subItem : ((IExpandable<?, T>) item).getSubItems()) {
+					ParentLink link = mParents.get(subItem);
+					if (link != null && link.parent == item) mParents.remove(subItem);
+				}
+			}
+		}
+		onDataSetModified();
+	}
+
+	private void onItemRemoved(int position, T item) {
+		onItemsRemoved(position, Collections.singletonList(item));
+	}
+
+	/**
+	 * Must be called after an item has been replaced in the main container.
+	 *
+	 * @param position the position of the item
+	 * @param oldItem  the item replaced
+	 * @param newItem  the new item
+	 */
+	private void onItemReplaced(int position, T oldItem, T newItem) {
+		mPositionIndex.set(position, newItem);
+		mTypeCounter.set(position, newItem);
+		onDataSetModified();
+	}
+
+	/**
+	 * Must be called after 2 items have been swapped in the main container.
+	 *
+	 * @param fromPosition the first swapped position
+	 * @param toPosition   the second swapped position
+	 */
+	private void onItemsSwapped(int fromPosition, int toPosition) {
+		mPositionIndex.swap(fromPosition, toPosition);
+		mTypeCounter.swap(fromPosition, toPosition);
+		onDataSetModified();
+	}
+
+	/**
+	 * Must be called after the main container has been replaced or entirely rebuilt.
+	 */
+	private void onItemsReset() {
+		mPositionIndex.invalidate();
+		mTypeCounter.reset(mItems);
+		mParents.clear();
+		linkSubItemsOfExpanded(mItems);
+		onDataSetModified();
+	}
+
+	/**
+	 * The filter animates its own results: only the other modifications change the items to
+	 * filter.
+	 */
+	private void onDataSetModified() {
+		invalidateSnapshot();
+		if (!filtering) mDataSetGeneration++;
+	}
+
+	/**
+	 * Links the subItems of the expanded parents among the items.
+	 */
+	private void linkSubItemsOfExpanded(List<T> items) {
+		for (T item : items) {
+			if (isExpandable(item) && isItemExpanded((IExpandable) item)) linkSubItems((IExpandable) item);
+		}
+	}
+
+	/**
+	 * Links all the subItems to the parent, with their current position in the parent.
+	 */
+	private void linkSubItems(IExpandable parent) {
+		if (!hasSubItems(parent)) return;
+		List<T> subItems = parent.getSubItems();
+		for (int i = 0; i < subItems.size(); i++) {
+			T subItem = subItems.get(i);
+			ParentLink link = mParents.get(subItem);
+			if (link == null) mParents.put(subItem, new ParentLink(parent, i));
+			else link.set(parent, i);
+		}
+	}
+
+	/**
+	 * Marks the snapshot as outdated: the consecutive changes of the same operation are copied
+	 * once, when the operation is notified.
+	 */
+	private void invalidateSnapshot() {
+		mSnapshotDirty = true;
+	}
+
+	/**
+	 * Must be called from the main thread, when the main container is consistent.
+	 */
+	private void publishPendingSnapshot() {
+		if (mSnapshotDirty) {
+			mSnapshotDirty = false;
+			mSnapshot = Collections.unmodifiableList(new ArrayList<T>(mItems));
+		}
 	}
 
 	/*------------------------------*/
@@ -298,7 +598,19 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	public boolean isEnabled(int position) {
 		T item = getItem(position);
-		return item != null && item.isEnabled();
+		return item != null && isItemEnabled(item);
+	}
+
+	/**
+	 * Enables or disables the item, also when items are shared.
+	 *
+	 * @param item    the item to enable or disable
+	 * @param enabled true to enable the item, false otherwise
+	 * @see #setSharedItems(boolean)
+	 */
+	public void setEnabled(@NonNull T item, boolean enabled) {
+		if (mItemStates != null) mItemStates.setEnabled(item, enabled);
+		else item.setEnabled(enabled);
 	}
 
 	@Override
@@ -377,6 +689,36 @@ public class FlexibleAdapter<T extends IFlexible>
 	/* MAIN METHODS */
 	/*--------------*/
 
+	/**
+	 * @return true if the state of the items is kept by this Adapter, false if it is kept by
+	 * the items
+	 * @see #setSharedItems(boolean)
+	 */
+	public boolean isSharedItems() {
+		return mItemStates != null;
+	}
+
+	/**
+	 * Sets if the same item instances are shared with other Adapters.
+	 * <p>When shared, the state that the Adapter changes on the items (hidden, expanded,
+	 * enabled and the header linkage) is kept by this Adapter in compact bitsets and the items
+	 * are never modified: the initial state is read from the items the first time they are
+	 * used. The selection is always kept by the Adapter.</p>
+	 * <b>Note:</b> This must be configured before any other operation on the items. Items
+	 * and ViewHolders should query the state via the Adapter, i.e. {@link #isExpanded(int)}
+	 * and {@link #isEnabled(int)}.
+	 * <p>Default value is false (state is kept by the items).</p>
+	 *
+	 * @param shared true to keep the state of the items in this Adapter, false to keep it in
+	 *               the items
+	 * @return this Adapter, so the call can be chained
+	 */
+	public FlexibleAdapter setSharedItems(boolean shared) {
+		if (shared && mItemStates == null) mItemStates = new ItemStates();
+		else if (!shared) mItemStates = null;
+		return this;
+	}
+
 	/**
 	 * Convenience method of {@link #updateDataSet(List, boolean)}.
 	 * <p>In this case changes will NOT be animated: {@link #notifyDataSetChanged()} will be invoked.</p>
@@ -391,10 +733,16 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	/**
 	 * This method will refresh the entire DataSet content.
-	 * <p>Optionally all changes can be animated, performance can be affected on big list.<br/>Pass
-	 * {@code animate=false} to invoke {@link #notifyDataSetChanged()} without any animations.</p>
+	 * <p>Optionally all changes can be animated, performance can be affected on big list: enable
+	 * {@link #setAdaptiveUpdates(boolean)} to fall back to a full refresh when animating the
+	 * changes would cost too much.<br/>Pass
+	 * {@code animate=false} to invoke {@link #notifyDataSetChanged()} without any animations: in
+	 * this case, if stable ids are enabled, the bound ViewHolders are reused for the same ids.</p>
 	 * This methods calls {@link #expandItemsAtStartUp()} and {@link #showAllHeaders()} if headers
 	 * are shown.
+	 * <p>With chunked updates enabled, a big data set is loaded across multiple frames without
+	 * animations: the first items are displayed immediately, the others are appended in the
+	 * next frames. Chunked updates still pending are cancelled by a new data set.</p>
 	 *
 	 * @param items   the new data set
 	 * @param animate true to animate the changes, false for a quick refresh
@@ -402,20 +750,156 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	@CallSuper
 	public void updateDataSet(@Nullable List<T> items, boolean animate) {
+		//Results of asynchronous updates still in flight are now stale
+		mUpdateGeneration++;
+		cancelSlicedUpdates();
+		releaseDataSetReferences();
+		if (!animate && items != null && isChunkedUpdate(items.size())) {
+			enqueueSlicedUpdate(new UpdateDataSetSlices(new ArrayList<T>(items)));
+			return;
+		}
 		if (animate) {
 			animateTo(items);
 		} else {
-			if (items == null) mItems = new ArrayList<>();
-			else mItems = new ArrayList<>(items);
-			notifyDataSetChanged();
+			mItems = createItemList(items != null ? items : Collections.<T>emptyList());
+			if (mItemStates != null) mItemStates.clear();
+			onItemsReset();
+			dispatchDataSetChanged();
+		}
+		onDataSetUpdated();
+	}
+
+	/**
+	 * Releases the previous items referenced by the filter: the matches of the incremental
+	 * filter, the cached results and the index are built again for the new items, the
+	 * expansions to restore belong to the previous items.
+	 */
+	private void releaseDataSetReferences() {
+		mExpandedFilterFlags = null;
+		clearFilterCandidates();
+		invalidateFilterCache();
+		invalidateFilterIndex();
+	}
+
+	/**
+	 * Same as {@link #updateDataSet(List, boolean)} with animations, but the edit script between
+	 * the current items and the new items is computed in background: only the notifications
+	 * are performed on the main thread.
+	 * <p>A newer update, synchronous or asynchronous, discards the results still in flight:
+	 * when multiple updates are requested in short time, only the last one is displayed.<br/>
+	 * If the current items are modified while the edit script is computed, the edit script is
+	 * computed again on the main thread.</p>
+	 * <b>Note:</b> The items are compared in background, {@code equals()} and
+	 * {@link IIdentifiable#getItemId()} must be safe to call from another thread.
+	 *
+	 * @param items the new data set
+	 * @see #setDiffExecutor(Executor)
+	 */
+	public void updateDataSetAsync(@Nullable List<T> items) {
+		final int generation = ++mUpdateGeneration;
+		cancelSlicedUpdates();
+		releaseDataSetReferences();
+		final List<T> newItems = items != null ? new ArrayList<T>(items) : new ArrayList<T>();
+		if (applyBoundaryInsertion(newItems)) {
+			onDataSetUpdated();
+			return;
 		}
+		final T[] oldItems = (T[]) mItems.toArray(new IFlexible[mItems.size()]);
+		final boolean stableIds = hasStableIds();
+		Executor executor = mDiffExecutor != null ? mDiffExecutor : getDefaultDiffExecutor();
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				if (generation != mUpdateGeneration) return;
+				final int[] oldToNew = ItemDiff.matchItems(Arrays.asList(oldItems), newItems, stableIds);
+				if (generation != mUpdateGeneration) return;
+				final boolean[] unmoved = ItemDiff.findUnmovedItems(oldToNew, MAX_DIFF_EDITS);
+				final boolean[] changed = ItemDiff.findChangedItems(Arrays.asList(oldItems), newItems, oldToNew);
+				mHandler.post(new Runnable() {
+					@Override
+					public void run() {
+						if (generation != mUpdateGeneration) {
+							if (DEBUG) Log.v(TAG, "updateDataSetAsync discarded generation=" + generation);
+							return;
+						}
+						if (isSameItems(oldItems)) {
+							applyDiff(oldItems, oldToNew, unmoved, changed, newItems);
+						} else {
+							if (DEBUG) Log.v(TAG, "updateDataSetAsync items modified, computing again");
+							animateTo(newItems);
+						}
+						onDataSetUpdated();
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Sets the Executor on which {@link #updateDataSetAsync(List)} computes the edit scripts and
+	 * {@link #filterItemsAsync(List)} matches the items.
+	 * <p>Default executor is a single background thread shared by all the Adapters.</p>
+	 *
+	 * @param executor the executor, null to use the default executor
+	 * @return this Adapter, so the call can be chained
+	 */
+	public FlexibleAdapter setDiffExecutor(@Nullable Executor executor) {
+		mDiffExecutor = executor;
+		return this;
+	}
+
+	private static synchronized Executor getDefaultDiffExecutor() {
+		if (sDefaultDiffExecutor == null) {
+			sDefaultDiffExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(@NonNull Runnable runnable) {
+					Thread thread = new Thread(runnable, TAG + "-Diff");
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				}
+			});
+		}
+		return sDefaultDiffExecutor;
+	}
+
+	private void onDataSetUpdated() {
+		if (mUpdateListener == null || getItemCount() > 0) {
+			expandItemsAtStartUp();
+			if (headersShown) showAllHeaders();
+		}
+		onDataSetLoaded();
+	}
+
+	/**
+	 * Must be called when the new data set is entirely loaded, also when loaded in slices.
+	 */
+	private void onDataSetLoaded() {
 		//Check if Data Set is empty
 		if (mUpdateListener != null && getItemCount() == 0) {
 			mUpdateListener.onUpdateEmptyView(0);
-		} else {
-			expandItemsAtStartUp();
-			if (headersShown) showAllHeaders();
 		}
+		//The previous snapshot must not retain the previous items
+		publishPendingSnapshot();
+	}
+
+	/**
+	 * Creates the main container that will hold a copy of the new data set.
+	 * <p>Default implementation creates an {@link ArrayList}. For very big lists, with frequent
+	 * insertions and removals in the middle (expansions and collapses), override this method to
+	 * return a {@link ChunkedList}: with this container the range operations don't shift the
+	 * entire tail of the list anymore. For huge multi-level hierarchies, return a
+	 * {@link TreeList}: all position lookups, expansions and collapses become logarithmic.</p>
+	 * <b>Note:</b> Pass the same type of container also to the constructor.
+	 *
+	 * @param items the new data set
+	 * @return a new modifiable list containing all the items
+	 * @see ChunkedList
+	 * @see TreeList
+	 */
+	@NonNull
+	protected List<T> createItemList(@NonNull List<T> items) {
+		return new ArrayList<T>(items);
 	}
 
 	/**
@@ -430,9 +914,41 @@ public class FlexibleAdapter<T extends IFlexible>
 		return mItems.get(position);
 	}
 
+	/**
+	 * Returns the stable id of the item at the specified position, if the Adapter has been
+	 * created with stable ids enabled, otherwise the position itself.
+	 *
+	 * @param position the position of the item
+	 * @return the value of {@link IIdentifiable#getItemId()}, {@link RecyclerView#NO_ID} if the
+	 * item doesn't implement it, or the position if stable ids are disabled
+	 * @see #FlexibleAdapter(List, Object, boolean)
+	 */
 	@Override
 	public long getItemId(int position) {
-		return position;
+		if (!hasStableIds()) return position;
+		T item = getItem(position);
+		return item instanceof IIdentifiable ? ((IIdentifiable) item).getItemId() : RecyclerView.NO_ID;
+	}
+
+	/**
+	 * Provides an immutable snapshot of the items currently displayed by the Adapter.
+	 * <p>The snapshot can be read from any thread without locking (exports, search indexing...).
+	 * A new snapshot is published by the main thread at the end of each modification, when it
+	 * is notified: other threads read the items as they were after the last completed
+	 * operation, never an operation in progress. From the main thread, the current items are
+	 * returned also in the middle of an operation or of a batch.</p>
+	 *
+	 * @return a consistent and immutable copy of the current items
+	 */
+	@NonNull
+	public List<T> getCurrentItems() {
+		if (Looper.myLooper() == Looper.getMainLooper() && mSnapshotDirty) {
+			//Other threads must not see the operation in progress
+			if (mNotificationBuffer.isBuffering())
+				return Collections.unmodifiableList(new ArrayList<T>(mItems));
+			publishPendingSnapshot();
+		}
+		return mSnapshot;
 	}
 
 	/**
@@ -450,6 +966,8 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	/**
 	 * Provides the number of items currently displayed of one or more certain types.
+	 * <p>When ViewTypes are automatically mapped, the count is maintained at every insertion
+	 * and removal and this method doesn't scan the list.</p>
 	 *
 	 * @param viewTypes the viewTypes to count
 	 * @return number of the viewTypes counted
@@ -458,6 +976,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * @see #isEmpty()
 	 */
 	public int getItemCountOfTypes(Integer... viewTypes) {
+		if (hasAutoMappedViewTypes()) return mTypeCounter.getCount(viewTypes);
 		return getItemCountOfTypesUntil(getItemCount(), viewTypes);
 	}
 
@@ -472,12 +991,13 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * @see #isEmpty()
 	 */
 	public int getItemCountOfTypesUntil(@IntRange(from = 0) int position, Integer... viewTypes) {
+		//Privilege faster counting if autoMap is active
+		if (hasAutoMappedViewTypes())
+			return mTypeCounter.getCountUntil(position, viewTypes);
 		List<Integer> viewTypeList = Arrays.asList(viewTypes);
 		int count = 0;
 		for (int i = 0; i < position; i++) {
-			//Privilege faster counting if autoMap is active
-			if ((autoMap && viewTypeList.contains(mItems.get(i).getLayoutRes())) ||
-					viewTypeList.contains(getItemViewType(i)))
+			if (viewTypeList.contains(getItemViewType(i)))
 				count++;
 		}
 		return count;
@@ -497,12 +1017,19 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	/**
 	 * Retrieve the global position of the Item in the Adapter list.
+	 * <p>Positions are indexed, so the lookup is performed in logarithmic time, also for an
+	 * item not displayed. As for {@link List#indexOf(Object)}, the position of the first item
+	 * that {@code equals} is returned: items must implement {@code hashCode()} consistently
+	 * with {@code equals()}.</p>
 	 *
 	 * @param item the item to find
 	 * @return the global position in the Adapter if found, -1 otherwise
 	 */
 	public int getGlobalPositionOf(@NonNull IFlexible item) {
-		return item != null && mItems != null && !mItems.isEmpty() ? mItems.indexOf(item) : -1;
+		if (item == null || mItems == null || mItems.isEmpty()) return -1;
+		//The tree already knows the position of its items
+		if (mItems instanceof TreeList) return mItems.indexOf(item);
+		return mPositionIndex.indexOf(mItems, item);
 	}
 
 	/**
@@ -512,7 +1039,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * @return true if the provided item is currently displayed, false otherwise
 	 */
 	public boolean contains(@NonNull T item) {
-		return item != null && mItems != null && mItems.contains(item);
+		return getGlobalPositionOf(item) >= 0;
 	}
 
 	/**
@@ -531,12 +1058,12 @@ public class FlexibleAdapter<T extends IFlexible>
 
 		//Header is visible
 		if (item instanceof ISectionable) {
-			IHeader header = ((ISectionable) item).getHeader();
-			if (header != null && !header.isHidden()) {
+			IHeader header = getItemHeader((ISectionable) item);
+			if (header != null && !isItemHidden(header)) {
 				List sortedList = getSectionItems(header);
 				sortedList.add(item);
 				Collections.sort(sortedList, comparator);
-				int fix = mItems.indexOf(item) < getGlobalPositionOf(header) ? 0 : 1;
+				int fix = getGlobalPositionOf((IFlexible) item) < getGlobalPositionOf(header) ? 0 : 1;
 				int result = getGlobalPositionOf(header) + sortedList.indexOf(item) + fix;
 				if (DEBUG) {
 					Log.v(TAG, "Calculated finalPosition=" + result +
@@ -555,6 +1082,296 @@ public class FlexibleAdapter<T extends IFlexible>
 		return Math.max(0, sortedList.indexOf(item));
 	}
 
+	/*-----------------*/
+	/* CHUNKED UPDATES */
+	/*-----------------*/
+
+	/**
+	 * Convenience method of {@link #setChunkedUpdates(boolean, long)} with the
+	 * {@link #DEFAULT_FRAME_BUDGET}.
+	 *
+	 * @param chunked true to apply big mutations in chunks, false to apply them at once
+	 * @return this Adapter, so the call can be chained
+	 * @see #setChunkedUpdates(boolean, long)
+	 */
+	public FlexibleAdapter setChunkedUpdates(boolean chunked) {
+		return setChunkedUpdates(chunked, DEFAULT_FRAME_BUDGET);
+	}
+
+	/**
+	 * Applies the big mutations across multiple frames, instead of blocking the main thread in
+	 * a single burst: {@link #updateDataSet(List, boolean)} without animations,
+	 * {@link #addItems(int, List)} and {@link #expandAll(int)}.
+	 * <p>At every frame, the mutation is applied in slices until the time budget is over, the
+	 * remaining slices are applied in the next frames. Between two frames the list is always
+	 * consistent: the items of the slices already applied are displayed and can be modified.
+	 * The chunked updates requested in the meantime are queued after the one in progress, any
+	 * other operation is applied immediately to the current content.</p>
+	 * Progress and completion are reported to the {@link OnChunkedUpdateListener}.
+	 * <p>Default value is disabled.</p>
+	 *
+	 * @param chunked           true to apply big mutations in chunks, false to apply them at once
+	 * @param frameBudgetMillis the time in milliseconds that can be spent at each frame
+	 * @return this Adapter, so the call can be chained
+	 * @see #finishChunkedUpdates()
+	 */
+	public FlexibleAdapter setChunkedUpdates(boolean chunked, @IntRange(from = 1) long frameBudgetMillis) {
+		mFrameBudgetNanos = chunked ? Math.max(1L, frameBudgetMillis) * 1000000L : 0L;
+		if (!chunked) finishChunkedUpdates();
+		return this;
+	}
+
+	public boolean isChunkedUpdates() {
+		return mFrameBudgetNanos > 0L;
+	}
+
+	/**
+	 * @return true if a chunked update has still some slices to apply, false otherwise
+	 */
+	public boolean hasPendingChunkedUpdates() {
+		return !mSlicedUpdates.isEmpty();
+	}
+
+	/**
+	 * Applies at once all the slices still pending of the chunked updates.
+	 */
+	public void finishChunkedUpdates() {
+		applySlices(Long.MAX_VALUE);
+	}
+
+	private boolean isChunkedUpdate(int itemCount) {
+		//Small updates are also queued to keep the order of the updates in progress
+		return mFrameBudgetNanos > 0L && (itemCount > SLICE_SIZE || !mSlicedUpdates.isEmpty());
+	}
+
+	private void enqueueSlicedUpdate(SlicedUpdate update) {
+		mSlicedUpdates.add(update);
+		//The first slices are applied immediately
+		if (mSlicedUpdates.size() == 1) applySlices(mFrameBudgetNanos);
+	}
+
+	/**
+	 * Pending slices are dropped when a new data set is set, the listener is notified that no
+	 * chunked update is pending anymore.
+	 */
+	private void cancelSlicedUpdates() {
+		if (mSlicedUpdates.isEmpty()) return;
+		if (DEBUG) Log.v(TAG, "Cancelled " + mSlicedUpdates.size() + " chunked updates");
+		mSlicedUpdates.clear();
+		mSlicesProcessed = 0;
+		if (mChunkedUpdateListener != null) mChunkedUpdateListener.onChunkedUpdateComplete();
+	}
+
+	private void onSlicesFrame() {
+		mSlicesScheduled = false;
+		applySlices(mFrameBudgetNanos > 0L ? mFrameBudgetNanos : Long.MAX_VALUE);
+	}
+
+	/**
+	 * Applies the pending slices until the time budget is over, the notifications of all the
+	 * slices are delivered together.
+	 *
+	 * @param budgetNanos the time that can be spent
+	 */
+	private void applySlices(long budgetNanos) {
+		if (mApplyingSlices || mSlicedUpdates.isEmpty()) return;
+		mApplyingSlices = true;
+		long start = System.nanoTime();
+		SlicedUpdate update;
+		startCompoundOperation();
+		do {
+			update = mSlicedUpdates.get(0);
+			update.applySlice(SLICE_SIZE);
+			if (update.isComplete()) {
+				mSlicedUpdates.remove(0);
+				mSlicesProcessed += update.processed;
+			}
+		} while (!mSlicedUpdates.isEmpty() && System.nanoTime() - start < budgetNanos);
+		endCompoundOperation();
+		mApplyingSlices = false;
+		//Progress of all the updates queued since the queue was empty
+		int processed = mSlicesProcessed, total = mSlicesProcessed;
+		for (SlicedUpdate pending : mSlicedUpdates) {
+			processed += pending.processed;
+			total += pending.total;
+		}
+		if (DEBUG) {
+			Log.v(TAG, "Chunked updates processed=" + processed + "/" + total +
+					" in " + (System.nanoTime() - start) / 1000000L + "ms");
+		}
+		if (mSlicedUpdates.isEmpty()) mSlicesProcessed = 0;
+		if (mChunkedUpdateListener != null) {
+			mChunkedUpdateListener.onChunkedUpdateProgress(processed, total);
+			if (mSlicedUpdates.isEmpty()) mChunkedUpdateListener.onChunkedUpdateComplete();
+		}
+		if (!mSlicedUpdates.isEmpty()) scheduleSlices();
+	}
+
+	private void scheduleSlices() {
+		if (mSlicesScheduled) return;
+		mSlicesScheduled = true;
+		postOnNextFrame(mSlicesRunnable);
+	}
+
+	/**
+	 * Runs the task at the beginning of the next frame. Must be called from the main thread.
+	 */
+	private void postOnNextFrame(Runnable task) {
+		if (Utils.hasJellyBean()) {
+			postFrameCallback(task);
+		} else {
+			mHandler.post(task);
+		}
+	}
+
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private void postFrameCallback(final Runnable task) {
+		Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+			@Override
+			public void doFrame(long frameTimeNanos) {
+				task.run();
+			}
+		});
+	}
+
+	/*---------------*/
+	/* BATCH UPDATES */
+	/*---------------*/
+
+	/**
+	 * Starts a batch of operations: notifications, headers of the new and moved items, removal
+	 * of the orphan headers and update of the empty view are deferred until {@link #commit()}.
+	 * <p>At commit, the net effect of all the operations is notified with the minimal set of
+	 * notifications: adjacent insertions and removals are merged, the items inserted and
+	 * removed in the same batch are never notified and every change is notified once.</p>
+	 * Batches can be nested, only the outermost commit delivers the notifications.
+	 * <p><b>Note:</b> Every call must be followed by a {@code commit()}, in the same loop of
+	 * the main thread: the RecyclerView must not layout the items in the middle of a batch.</p>
+	 *
+	 * @see #commit()
+	 * @see #batch(Runnable)
+	 */
+	public void beginBatch() {
+		if (mBatchDepth++ == 0) mBatchInitialCount = getItemCount();
+		startCompoundOperation();
+	}
+
+	/**
+	 * Ends the batch of operations started with {@link #beginBatch()}.
+	 * <p>When the outermost batch is committed, the deferred header bookkeeping is performed and
+	 * all the notifications are delivered.</p>
+	 *
+	 * @see #beginBatch()
+	 */
+	public void commit() {
+		if (mBatchDepth == 0) {
+			Log.e(TAG, "Cannot commit, no batch has been started!");
+			return;
+		}
+		if (--mBatchDepth == 0) {
+			//Show the headers of the items added or moved
+			if (headersShown && !mBatchItems.isEmpty()) {
+				recursive = true;
+				for (T item : mBatchItems) {
+					int position = getGlobalPositionOf(item);
+					if (position >= 0) showHeaderOf(position, item);
+				}
+				recursive = false;
+			}
+			mBatchItems.clear();
+			//Orphan headers might have received new items in the meantime
+			if (removeOrphanHeaders && !mOrphanHeaders.isEmpty()) {
+				for (IHeader header : new ArrayList<IHeader>(mOrphanHeaders)) {
+					if (isHeaderShared(header, -1, 0)) removeFromOrphanList(header);
+				}
+				removeOrphanHeaders(null);
+			}
+		}
+		endCompoundOperation();
+		//Update empty view
+		if (mBatchDepth == 0 && mUpdateListener != null &&
+				(mBatchInitialCount == 0) != (getItemCount() == 0))
+			mUpdateListener.onUpdateEmptyView(getItemCount());
+	}
+
+	/**
+	 * Convenience method to perform all the operations of the Runnable in a single batch, the
+	 * batch is committed also in case of exception.
+	 *
+	 * @param operations the operations to perform on this Adapter
+	 * @see #beginBatch()
+	 */
+	public void batch(@NonNull Runnable operations) {
+		beginBatch();
+		try {
+			operations.run();
+		} finally {
+			commit();
+		}
+	}
+
+	/**
+	 * @return true if a batch of operations has been started and not committed yet
+	 */
+	public boolean isBatching() {
+		return mBatchDepth > 0;
+	}
+
+	/*----------------*/
+	/* MUTATION QUEUE */
+	/*----------------*/
+
+	/**
+	 * Enqueues an operation on the items of this Adapter, it can be called from any thread.
+	 * <p>The operations are executed on the main thread at the beginning of the next frame:
+	 * all the operations enqueued since the previous frame are executed in enqueue order, in a
+	 * single batch, so their net effect is notified with the minimal set of notifications. The
+	 * operations enqueued by the same thread are always executed in the same order, those
+	 * enqueued while the batch is executed are executed at the next frame.</p>
+	 * Operations can call any method of the Adapter: they are executed as if they were called
+	 * on the main thread, between {@link #beginBatch()} and {@link #commit()}.
+	 *
+	 * @param mutation the operation to execute on the main thread
+	 * @see #hasPendingMutations()
+	 */
+	public void enqueueMutation(@NonNull Runnable mutation) {
+		mMutations.offer(mutation);
+		if (mDrainScheduled.compareAndSet(false, true)) {
+			if (Looper.myLooper() == Looper.getMainLooper()) {
+				postOnNextFrame(mMutationsDrainer);
+			} else {
+				//Frame callbacks can be posted from the main thread only
+				mHandler.post(mMutationsScheduler);
+			}
+		}
+	}
+
+	/**
+	 * @return true if some operations enqueued with {@link #enqueueMutation(Runnable)} have not
+	 * been executed yet
+	 */
+	public boolean hasPendingMutations() {
+		return !mMutations.isEmpty();
+	}
+
+	private void drainMutations() {
+		//Operations enqueued from now on will schedule another frame
+		mDrainScheduled.set(false);
+		//Only the operations already enqueued: a continuous producer cannot hold this frame
+		int pending = mMutations.size(), count = 0;
+		beginBatch();
+		try {
+			Runnable mutation;
+			while (count < pending && (mutation = mMutations.poll()) != null) {
+				mutation.run();
+				count++;
+			}
+		} finally {
+			commit();
+			if (DEBUG) Log.v(TAG, "Executed " + count + " enqueued mutations in a single batch");
+		}
+	}
+
 	/*--------------------------*/
 	/* HEADERS/SECTIONS METHODS */
 	/*--------------------------*/
@@ -638,7 +1455,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	public FlexibleAdapter linkHeaderTo(@NonNull T item, @NonNull IHeader header) {
 		linkHeaderTo(item, header, null);
-		if (header.isHidden() && headersShown) {
+		if (isItemHidden(header) && headersShown) {
 			showHeaderOf(getGlobalPositionOf(item), item);
 		}
 		return this;
@@ -652,7 +1469,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	public IHeader unlinkHeaderFrom(@NonNull T item) {
 		IHeader header = unlinkHeaderFrom(item, null);
-		if (header != null && !header.isHidden()) {
+		if (header != null && !isItemHidden(header)) {
 			hideHeaderOf(item);
 		}
 		return header;
@@ -772,7 +1589,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	public IHeader getHeaderOf(@NonNull T item) {
 		if (item != null && item instanceof ISectionable) {
-			return ((ISectionable) item).getHeader();
+			return getItemHeader((ISectionable) item);
 		}
 		return null;
 	}
@@ -847,16 +1664,29 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	public void showAllHeaders() {
 		multiRange = true;
+		startCompoundOperation();
 		//Show linked headers only
-		resetHiddenStatus();
-		int position = 0;
-		while (position < mItems.size()) {
-			if (showHeaderOf(position, mItems.get(position)))
+		resetHiddenStatus(mItems);
+		showHeadersOf(0, mItems.size());
+		headersShown = true;
+		endCompoundOperation();
+		multiRange = false;
+	}
+
+	/**
+	 * Shows the headers of the items in the range of positions.
+	 *
+	 * @return the end of the range, moved after the headers shown
+	 */
+	private int showHeadersOf(int position, int positionEnd) {
+		while (position < positionEnd && position < mItems.size()) {
+			if (showHeaderOf(position, mItems.get(position))) {
 				position++;//It's the same element, skip it.
+				positionEnd++;
+			}
 			position++;
 		}
-		headersShown = true;
-		multiRange = false;
+		return positionEnd;
 	}
 
 	/**
@@ -867,6 +1697,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	public void hideAllHeaders() {
 		multiRange = true;
+		startCompoundOperation();
 		//Hide orphan headers first
 		for (IHeader header : getOrphanHeaders()) {
 			hideHeader(getGlobalPositionOf(header), header);
@@ -879,6 +1710,7 @@ public class FlexibleAdapter<T extends IFlexible>
 			position--;
 		}
 		headersShown = false;
+		endCompoundOperation();
 		setStickyHeaders(false);
 		multiRange = false;
 	}
@@ -890,11 +1722,11 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * if an Activity/Fragment has been closed and then reopened. We need to reset hidden status,
 	 * the process is very fast.
 	 */
-	private void resetHiddenStatus() {
-		for (T item : mItems) {
+	private void resetHiddenStatus(List<T> items) {
+		for (T item : items) {
 			IHeader header = getHeaderOf(item);
 			if (header != null && !isExpandable((T) header))
-				header.setHidden(true);
+				setItemHidden(header, true);
 		}
 	}
 
@@ -909,9 +1741,9 @@ public class FlexibleAdapter<T extends IFlexible>
 		IHeader header = getHeaderOf(item);
 		//Check header existence
 		if (header == null || getPendingRemovedItem(item) != null) return false;
-		if (header.isHidden()) {
+		if (isItemHidden(header)) {
 			if (DEBUG) Log.v(TAG, "Showing header at position " + position + " header=" + header);
-			header.setHidden(false);
+			setItemHidden(header, false);
 			return addItem(position, (T) header);
 		}
 		return false;
@@ -926,16 +1758,16 @@ public class FlexibleAdapter<T extends IFlexible>
 		//Take the header
 		IHeader header = getHeaderOf(item);
 		//Check header existence
-		return header != null && !header.isHidden() && hideHeader(getGlobalPositionOf(header), header);
+		return header != null && !isItemHidden(header) && hideHeader(getGlobalPositionOf(header), header);
 	}
 
 	private boolean hideHeader(int position, IHeader header) {
 		if (position >= 0) {
 			if (DEBUG) Log.v(TAG, "Hiding header at position " + position + " header=" + header);
-			header.setHidden(true);
+			setItemHidden(header, true);
 			//Remove and notify removals
-			mItems.remove(position);
-			notifyItemRemoved(position);
+			onItemRemoved(position, mItems.remove(position));
+			dispatchItemRangeRemoved(position, 1);
 			return true;
 		}
 		return false;
@@ -958,23 +1790,23 @@ public class FlexibleAdapter<T extends IFlexible>
 		if (item != null && item instanceof ISectionable) {
 			ISectionable sectionable = (ISectionable) item;
 			//Unlink header only if different
-			if (sectionable.getHeader() != null && !sectionable.getHeader().equals(header)) {
+			if (getItemHeader(sectionable) != null && !getItemHeader(sectionable).equals(header)) {
 				unlinkHeaderFrom((T) sectionable, payload);
 			}
-			if (sectionable.getHeader() == null && header != null) {
+			if (getItemHeader(sectionable) == null && header != null) {
 				if (DEBUG) Log.v(TAG, "Link header " + header + " to " + sectionable);
-				sectionable.setHeader(header);
+				setItemHeader(sectionable, header);
 				linked = true;
 				removeFromOrphanList(header);
 				//Notify items
 				if (payload != null) {
-					if (!header.isHidden()) notifyItemChanged(getGlobalPositionOf(header), payload);
-					if (!item.isHidden()) notifyItemChanged(getGlobalPositionOf(item), payload);
+					if (!isItemHidden(header)) dispatchItemRangeChanged(getGlobalPositionOf(header), 1, payload);
+					if (!isItemHidden(item)) dispatchItemRangeChanged(getGlobalPositionOf(item), 1, payload);
 				}
 			}
 		} else {
 			addToOrphanListIfNeeded(header, getGlobalPositionOf(item), 1);
-			notifyItemChanged(getGlobalPositionOf(header), payload);
+			dispatchItemRangeChanged(getGlobalPositionOf(header), 1, payload);
 		}
 		return linked;
 	}
@@ -991,14 +1823,14 @@ public class FlexibleAdapter<T extends IFlexible>
 	private IHeader unlinkHeaderFrom(@NonNull T item, @Nullable Object payload) {
 		if (hasHeader(item)) {
 			ISectionable sectionable = (ISectionable) item;
-			IHeader header = sectionable.getHeader();
+			IHeader header = getItemHeader(sectionable);
 			if (DEBUG) Log.v(TAG, "Unlink header " + header + " from " + sectionable);
-			sectionable.setHeader(null);
+			setItemHeader(sectionable, null);
 			addToOrphanListIfNeeded(header, getGlobalPositionOf(item), 1);
 			//Notify items
 			if (payload != null) {
-				if (!header.isHidden()) notifyItemChanged(getGlobalPositionOf(header), payload);
-				if (!item.isHidden()) notifyItemChanged(getGlobalPositionOf(item), payload);
+				if (!isItemHidden(header)) dispatchItemRangeChanged(getGlobalPositionOf(header), 1, payload);
+				if (!isItemHidden(item)) dispatchItemRangeChanged(getGlobalPositionOf(item), 1, payload);
 			}
 			return header;
 		}
@@ -1043,6 +1875,8 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * <p>You can override this method to return specific values or you can let this method
 	 * to call the implementation of {@link IFlexible#getLayoutRes()} so ViewTypes are
 	 * automatically mapped.</p>
+	 * The mapping happens only the first time a ViewType is encountered, next calls only
+	 * perform a lookup on primitive keys, without allocations.
 	 *
 	 * @param position position for which ViewType is requested
 	 * @return if Item is found, any integer value from user layout resource if defined in
@@ -1051,17 +1885,35 @@ public class FlexibleAdapter<T extends IFlexible>
 	@Override
 	public int getItemViewType(int position) {
 		T item = getItem(position);
+		int viewType = item.getLayoutRes();
 		//Map the view type if not done yet
-		mapViewTypeFrom(item);
-		autoMap = true;
-		return item.getLayoutRes();
+		if (mTypeInstances.indexOfKey(viewType) < 0) {
+			mapViewTypeFrom(item);
+			autoMap = true;
+		}
+		return viewType;
+	}
+
+	/**
+	 * Registers a factory that creates the ViewHolders of a ViewType, instead of delegating
+	 * the creation to an item of that type.
+	 *
+	 * @param viewType the ViewType, by default the layout resource of the items
+	 * @param factory  the factory of the ViewHolders, null to remove it
+	 * @return this Adapter, so the call can be chained
+	 * @see ViewHolderFactory
+	 */
+	public FlexibleAdapter registerViewHolderFactory(int viewType, @Nullable ViewHolderFactory factory) {
+		if (factory != null) mViewHolderFactories.put(viewType, factory);
+		else mViewHolderFactories.remove(viewType);
+		return this;
 	}
 
 	/**
 	 * You can override this method to create ViewHolder from inside the Adapter or
-	 * you can let this method to call the implementation of
-	 * {@link IFlexible#createViewHolder(FlexibleAdapter, LayoutInflater, ViewGroup)}
-	 * to create ViewHolder from inside the Item.
+	 * you can let this method to call the registered {@link ViewHolderFactory} or the
+	 * implementation of {@link IFlexible#createViewHolder(FlexibleAdapter, LayoutInflater, ViewGroup)}
+	 * to create ViewHolder from inside an Item of the same ViewType.
 	 *
 	 * @param parent   the ViewGroup into which the new View will be added after it is bound
 	 *                 to an adapter position
@@ -1077,6 +1929,10 @@ public class FlexibleAdapter<T extends IFlexible>
 		if (mInflater == null) {
 			mInflater = LayoutInflater.from(parent.getContext());
 		}
+		ViewHolderFactory factory = mViewHolderFactories.get(viewType);
+		if (factory != null) {
+			return factory.createViewHolder(this, mInflater, parent);
+		}
 		T item = getViewTypeInstance(viewType);
 		if (item == null) {
 			//If everything has been set properly, this should never happen ;-)
@@ -1132,7 +1988,7 @@ public class FlexibleAdapter<T extends IFlexible>
 			//Bind the item
 			T item = getItem(position);
 			if (item != null) {
-				holder.itemView.setEnabled(item.isEnabled());
+				holder.itemView.setEnabled(isItemEnabled(item));
 				item.bindViewHolder(this, holder, position, payloads);
 			}
 		}
@@ -1157,7 +2013,7 @@ public class FlexibleAdapter<T extends IFlexible>
 		if (endlessScrollListener != null && progressItem != null) {
 			mEndlessScrollListener = endlessScrollListener;
 			setEndlessScrollThreshold(mEndlessScrollThreshold);
-			progressItem.setEnabled(false);
+			setEnabled(progressItem, false);
 			mProgressItem = progressItem;
 		}
 		return this;
@@ -1181,15 +2037,17 @@ public class FlexibleAdapter<T extends IFlexible>
 	}
 
 	private void onLoadMore(int position) {
-		if (mEndlessScrollListener != null && getGlobalPositionOf(mProgressItem) < 0
-				&& position >= getItemCount() - mEndlessScrollThreshold) {
+		//Check the threshold first, it's cheaper than looking for the progressItem
+		if (mEndlessScrollListener != null && position >= getItemCount() - mEndlessScrollThreshold
+				&& getGlobalPositionOf(mProgressItem) < 0) {
 			if (!mLoading) {
 				mLoading = true;
 				mRecyclerView.post(new Runnable() {
 					@Override
 					public void run() {
 						mItems.add(mProgressItem);
-						notifyItemInserted(getItemCount());
+						onItemsInserted(getItemCount() - 1, Collections.singletonList(mProgressItem));
+						dispatchItemRangeInserted(getItemCount(), 1);
 						mEndlessScrollListener.onLoadMore();
 					}
 				});
@@ -1206,8 +2064,8 @@ public class FlexibleAdapter<T extends IFlexible>
 	public void onLoadMoreComplete(@Nullable List<T> newItems) {
 		int progressPosition = getGlobalPositionOf(mProgressItem);
 		if (progressPosition >= 0) {
-			mItems.remove(mProgressItem);
-			notifyItemRemoved(progressPosition);
+			onItemRemoved(progressPosition, mItems.remove(progressPosition));
+			dispatchItemRangeRemoved(progressPosition, 1);
 		}
 		if (newItems != null && newItems.size() > 0) {
 			if (DEBUG)
@@ -1225,7 +2083,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	private void noMoreLoad() {
 		if (DEBUG) Log.v(TAG, "onLoadMore noMoreLoad!");
-		notifyItemChanged(getItemCount() - 1, true);
+		dispatchItemRangeChanged(getItemCount() - 1, 1, true);
 		mHandler.sendEmptyMessageDelayed(2, 200L);
 	}
 
@@ -1270,7 +2128,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	public boolean isExpanded(@NonNull T item) {
 		if (isExpandable(item)) {
 			IExpandable expandable = (IExpandable) item;
-			return expandable.isExpanded();
+			return isItemExpanded(expandable);
 		}
 		return false;
 	}
@@ -1307,6 +2165,12 @@ public class FlexibleAdapter<T extends IFlexible>
 	/**
 	 * Retrieves the parent of a child.
 	 * <p>Only for a real child of an expanded parent.</p>
+	 * The parent is found through the link kept since the expansion: the link is verified in
+	 * constant time, plus the logarithmic time of {@link #getGlobalPositionOf(IFlexible)} to
+	 * verify that the parent is displayed. Only when the subItems of the parent
+	 * have been modified, they are scanned once to update the position of the child.
+	 * <p><b>Note:</b> Children must be added to an expanded parent with
+	 * {@link #addSubItem(int, int, IFlexible)} or with the other methods adding subItems.</p>
 	 *
 	 * @param child the child item
 	 * @return the parent of this child item or null if not found
@@ -1314,22 +2178,19 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * @see #getRelativePositionOf(IFlexible)
 	 */
 	public IExpandable getExpandableOf(@NonNull T child) {
-		for (T parent : mItems) {
-			if (isExpandable(parent)) {
-				IExpandable expandable = (IExpandable) parent;
-				if (expandable.isExpanded() && hasSubItems(expandable)) {
-					List<T> list = expandable.getSubItems();
-					for (T subItem : list) {
-						//Pick up only no-hidden items
-						if (!subItem.isHidden() && subItem.equals(child))
-							return expandable;
-					}
-				}
-			}
+		ParentLink link = mParents.get(child);
+		if (link == null) return null;
+		IExpandable parent = link.parent;
+		//Pick up only no-hidden items of an expanded parent
+		if (!isItemExpanded(parent) || isItemHidden(child) || !hasSubItems(parent)) return null;
+		if (!link.update(child)) {
+			mParents.remove(child);
+			return null;
 		}
-		return null;
+		return getGlobalPositionOf(parent) >= 0 ? parent : null;
 	}
 
+
 	/**
 	 * Retrieves the parent position of a child.
 	 * <p>Only for a real child of an expanded parent.</p>
@@ -1464,20 +2325,20 @@ public class FlexibleAdapter<T extends IFlexible>
 
 		IExpandable expandable = (IExpandable) item;
 		if (!hasSubItems(expandable)) {
-			expandable.setExpanded(false);//clear the expanded flag
+			setItemExpanded(expandable, false);//clear the expanded flag
 			if (DEBUG)
 				Log.w(TAG, "No subItems to Expand on position " + position +
-						" expanded " + expandable.isExpanded());
+						" expanded " + isItemExpanded(expandable));
 			return 0;
 		}
 		if (DEBUG && !init) {
 			Log.v(TAG, "Request to Expand on position=" + position +
-					" expanded=" + expandable.isExpanded() +
+					" expanded=" + isItemExpanded(expandable) +
 					" anyParentSelected=" + parentSelected +
 					" ExpandedItems=" + getExpandedPositions());
 		}
 		int subItemsCount = 0;
-		if (init || !expandable.isExpanded() &&
+		if (init || !isItemExpanded(expandable) &&
 				(!parentSelected || expandable.getExpansionLevel() <= selectedLevel)) {
 
 			//Collapse others expandable if configured so
@@ -1491,9 +2352,10 @@ public class FlexibleAdapter<T extends IFlexible>
 			// original Object and without the subItems marked hidden (removed)
 			List<T> subItems = getExpandableList(expandable);
 			mItems.addAll(position + 1, subItems);
+			onItemsInserted(position + 1, subItems);
 			subItemsCount = subItems.size();
 			//Save expanded state
-			expandable.setExpanded(true);
+			setItemExpanded(expandable, true);
 
 			//Automatically smooth scroll the current expandable item to show as much
 			// children as possible
@@ -1502,7 +2364,7 @@ public class FlexibleAdapter<T extends IFlexible>
 			}
 
 			//Expand!
-			notifyItemRangeInserted(position + 1, subItemsCount);
+			dispatchItemRangeInserted(position + 1, subItemsCount);
 			//Show also the headers of the subItems
 			if (!init && headersShown) {
 				int count = 0;
@@ -1532,14 +2394,23 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	/**
 	 * Expands all expandable items with at least the specified level.
+	 * <p>With chunked updates enabled, the items of a big list are expanded across multiple
+	 * frames: the result only counts the parents expanded in the first slice.</p>
 	 *
 	 * @param level the minimum level to expand the sub expandable items
 	 * @return the number of parent successfully expanded
 	 * @see #expandAll()
 	 * @see #setMinCollapsibleLevel(int)
+	 * @see #setChunkedUpdates(boolean)
 	 */
 	public int expandAll(int level) {
+		if (isChunkedUpdate(mItems.size())) {
+			ExpandAllSlices expandAll = new ExpandAllSlices(level);
+			enqueueSlicedUpdate(expandAll);
+			return expandAll.expanded;
+		}
 		int expanded = 0;
+		startCompoundOperation();
 		//More efficient if we expand from First expandable position
 		for (int i = 0; i < mItems.size(); i++) {
 			T item = getItem(i);
@@ -1550,6 +2421,7 @@ public class FlexibleAdapter<T extends IFlexible>
 				}
 			}
 		}
+		endCompoundOperation();
 		return expanded;
 	}
 
@@ -1569,25 +2441,25 @@ public class FlexibleAdapter<T extends IFlexible>
 		IExpandable expandable = (IExpandable) item;
 		if (DEBUG) {
 			Log.v(TAG, "Request to Collapse on position=" + position +
-					" expanded=" + expandable.isExpanded() +
+					" expanded=" + isItemExpanded(expandable) +
 					" hasSubItemsSelected=" + hasSubItemsSelected(expandable) +
 					" ExpandedItems=" + getExpandedPositions());
 		}
 		int subItemsCount = 0, recursiveCount = 0;
-		if (expandable.isExpanded() &&
+		if (isItemExpanded(expandable) &&
 				(!hasSubItemsSelected(expandable) || getPendingRemovedItem(item) != null)) {
 
 			//Take the current subList
 			List<T> subItems = getExpandableList(expandable);
 			//Recursive collapse of all sub expandable
 			recursiveCount = recursiveCollapse(subItems, expandable.getExpansionLevel());
-			mItems.removeAll(subItems);
+			removeSubItems(position, subItems);
 			subItemsCount = subItems.size();
 			//Save expanded state
-			expandable.setExpanded(false);
+			setItemExpanded(expandable, false);
 
 			//Collapse!
-			notifyItemRangeRemoved(position + 1, subItemsCount);
+			dispatchItemRangeRemoved(position + 1, subItemsCount);
 			//Hide also the headers of the subItems
 			if (headersShown && !isHeader(item)) {
 				for (T subItem : subItems) {
@@ -1601,6 +2473,27 @@ public class FlexibleAdapter<T extends IFlexible>
 		return subItemsCount + recursiveCount;
 	}
 
+	/**
+	 * Removes the subItems of a collapsing item with a single range removal, when they are
+	 * still contiguous after the parent.
+	 */
+	private void removeSubItems(int position, List<T> subItems) {
+		int count = subItems.size();
+		boolean contiguous = position + count < mItems.size();
+		for (int i = 0; contiguous && i < count; i++) {
+			contiguous = mItems.get(position + 1 + i) == subItems.get(i);
+		}
+		if (contiguous) {
+			mItems.subList(position + 1, position + 1 + count).clear();
+			onItemsRemoved(position + 1, subItems);
+		} else {
+			for (T subItem : subItems) {
+				int subPosition = getGlobalPositionOf(subItem);
+				if (subPosition >= 0) onItemRemoved(subPosition, mItems.remove(subPosition));
+			}
+		}
+	}
+
 	private int recursiveCollapse(List<T> subItems, int level) {
 		int collapsed = 0;
 		for (int i = subItems.size() - 1; i >= 0; i--) {
@@ -1672,9 +2565,11 @@ public class FlexibleAdapter<T extends IFlexible>
 			Log.e(TAG, "Cannot updateItem on position out of OutOfBounds!");
 			return;
 		}
-		mItems.set(position, item);
+		onItemReplaced(position, mItems.set(position, item), item);
+		//The new content may match differently
+		invalidateFilterCache();
 		if (DEBUG) Log.v(TAG, "updateItem notifyItemChanged on position " + position);
-		notifyItemChanged(position, payload);
+		dispatchItemRangeChanged(position, 1, payload);
 	}
 
 	/*----------------*/
@@ -1736,12 +2631,14 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * at last position.
 	 * <p><b>NOTE:</b> When all headers are shown, the header (if exists) of this item will be
 	 * shown as well, unless it's already shown, so it will not be shown twice.</p>
+	 * With chunked updates enabled, a big set of items is inserted across multiple frames.
 	 *
 	 * @param position position inside the list, -1 to add the set the end of the list
 	 * @param items    the items to add
 	 * @return true if the internal list was successfully modified, false otherwise
 	 * @see #addItem(int, IFlexible)
 	 * @see #addSubItems(int, int, IExpandable, List, boolean, Object)
+	 * @see #setChunkedUpdates(boolean)
 	 */
 	public boolean addItems(@IntRange(from = 0) int position, @NonNull List<T> items) {
 		if (position < 0) {
@@ -1753,7 +2650,15 @@ public class FlexibleAdapter<T extends IFlexible>
 			return false;
 		}
 		if (DEBUG) Log.v(TAG, "addItems on position=" + position + " itemCount=" + items.size());
+		if (isChunkedUpdate(items.size())) {
+			enqueueSlicedUpdate(new AddItemsSlices(position, new ArrayList<T>(items)));
+		} else {
+			insertItems(position, items);
+		}
+		return true;
+	}
 
+	private void insertItems(int position, List<T> items) {
 		//Insert Items
 		int initialCount = getItemCount();
 		if (position < mItems.size()) {
@@ -1761,20 +2666,22 @@ public class FlexibleAdapter<T extends IFlexible>
 		} else {
 			mItems.addAll(items);
 		}
+		onItemsInserted(position, items);
 		//Notify range addition
-		notifyItemRangeInserted(position, items.size());
+		dispatchItemRangeInserted(position, items.size());
 
 		//Show the headers of these items if all headers are already visible
-		if (headersShown && !recursive) {
+		if (headersShown && !recursive && isBatching()) {
+			mBatchItems.addAll(items);
+		} else if (headersShown && !recursive) {
 			recursive = true;
 			for (T item : items)
 				showHeaderOf(getGlobalPositionOf(item), item);//We have to find the correct position!
 			recursive = false;
 		}
 		//Call listener to update EmptyView
-		if (!recursive && mUpdateListener != null && !multiRange && initialCount == 0 && getItemCount() > 0)
+		if (!recursive && mUpdateListener != null && !multiRange && !isBatching() && initialCount == 0 && getItemCount() > 0)
 			mUpdateListener.onUpdateEmptyView(getItemCount());
-		return true;
 	}
 
 	/**
@@ -1899,16 +2806,17 @@ public class FlexibleAdapter<T extends IFlexible>
 								@NonNull List<T> items, boolean expandParent, @Nullable Object payload) {
 		boolean added = false;
 		//Expand parent if requested and not already expanded
-		if (expandParent && !parent.isExpanded()) {
+		if (expandParent && !isItemExpanded(parent)) {
 			expand(parentPosition);
 		}
 		//Notify the adapter of the new addition to display it and animate it.
 		//If parent is collapsed there's no need to notify about the change.
-		if (parent.isExpanded()) {
+		if (isItemExpanded(parent)) {
 			added = addItems(parentPosition + 1 + Math.max(0, subPosition), items);
+			if (added) linkSubItems(parent);
 		}
 		//Notify the parent about the change if requested
-		if (payload != null) notifyItemChanged(parentPosition, payload);
+		if (payload != null) dispatchItemRangeChanged(parentPosition, 1, payload);
 		return added;
 	}
 
@@ -1978,7 +2886,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	public int addItemToSection(@NonNull ISectionable sectionable, @NonNull IHeader header,
 								 @NonNull Comparator comparator) {
 		int index;
-		if (header != null && !header.isHidden()) {
+		if (header != null && !isItemHidden(header)) {
 			List<ISectionable> sectionItems = getSectionItems(header);
 			sectionItems.add(sectionable);
 			//Sort the list for new position
@@ -2006,7 +2914,7 @@ public class FlexibleAdapter<T extends IFlexible>
 		if (DEBUG) Log.v(TAG, "addItemToSection relativePosition=" + index);
 		int headerPosition = getGlobalPositionOf(header);
 		if (index >= 0) {
-			item.setHeader(header);
+			setItemHeader(item, header);
 			if (headerPosition >= 0 && isExpandable((T) header))
 				addSubItem(headerPosition, index, (T) item, false, true);
 			else
@@ -2132,6 +3040,7 @@ public class FlexibleAdapter<T extends IFlexible>
 		int positionStart = 0, itemCount = 0;
 		int lastPosition = selectedPositions.get(0);
 		multiRange = true;
+		startCompoundOperation();
 		for (Integer position : selectedPositions) {//10 9 8 //5 4 //1
 			if (lastPosition - itemCount == position) {//10-0==10  10-1==9  10-2==8  10-3==5 NO  //5-1=4  5-2==1 NO
 				itemCount++;             // 1  2  3  //2
@@ -2151,6 +3060,7 @@ public class FlexibleAdapter<T extends IFlexible>
 		if (itemCount > 0) {
 			removeRange(positionStart, itemCount, payload);//1,1
 		}
+		endCompoundOperation();
 	}
 
 	/**
@@ -2162,13 +3072,19 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * @see #removeAllSelectedItems()
 	 */
 	public void removeItemsOfType(Integer... viewTypes) {
-		List<Integer> viewTypeList = Arrays.asList(viewTypes);
 		List<Integer> itemsToRemove = new ArrayList<Integer>();
-		for (int i = mItems.size() - 1; i >= 0; i--) {
-			//Privilege autoMap if active
-			if ((autoMap && viewTypeList.contains(mItems.get(i).getLayoutRes())) ||
-					viewTypeList.contains(getItemViewType(i)))
-				itemsToRemove.add(i);
+		//Privilege autoMap if active
+		if (hasAutoMappedViewTypes()) {
+			int[] positions = mTypeCounter.getPositionsOf(viewTypes);
+			for (int i = positions.length - 1; i >= 0; i--) {
+				itemsToRemove.add(positions[i]);
+			}
+		} else {
+			List<Integer> viewTypeList = Arrays.asList(viewTypes);
+			for (int i = mItems.size() - 1; i >= 0; i--) {
+				if (viewTypeList.contains(getItemViewType(i)))
+					itemsToRemove.add(i);
+			}
 		}
 		this.removeItems(itemsToRemove);
 	}
@@ -2234,7 +3150,7 @@ public class FlexibleAdapter<T extends IFlexible>
 		if (header != null && headerPosition >= 0) {
 			//The header does not represents a group anymore, add it to the Orphan list
 			addToOrphanListIfNeeded(header, positionStart, itemCount);
-			notifyItemChanged(headerPosition, payload);
+			dispatchItemRangeChanged(headerPosition, 1, payload);
 		}
 
 		int parentPosition = -1;
@@ -2254,53 +3170,57 @@ public class FlexibleAdapter<T extends IFlexible>
 			//Restore hidden status for section headers
 			if (isHeader(item)) {
 				header = (IHeader) item;
-				header.setHidden(true);
+				setItemHidden(header, true);
 			}
 			//If item is a Header, remove linkage from ALL Sectionable items if exist
 			if (unlinkOnRemoveHeader && isHeader(item)) {
 				List<ISectionable> sectionableList = getSectionItems(header);
 				for (ISectionable sectionable : sectionableList) {
-					sectionable.setHeader(null);
+					setItemHeader(sectionable, null);
 					if (payload != null)
-						notifyItemChanged(getGlobalPositionOf(sectionable), payload);
+						dispatchItemRangeChanged(getGlobalPositionOf(sectionable), 1, payload);
 				}
 			}
 			//Remove item from internal list
-			mItems.remove(positionStart);
+			onItemRemoved(positionStart, mItems.remove(positionStart));
 			removeSelection(position);
 		}
 
 		//Notify removals
 		if (parentPosition >= 0) {
 			//Notify the Children removal only if Parent is expanded
-			notifyItemRangeRemoved(positionStart, itemCount);
+			dispatchItemRangeRemoved(positionStart, itemCount);
 			//Notify the Parent about the change if requested
-			if (payload != null) notifyItemChanged(parentPosition, payload);
+			if (payload != null) dispatchItemRangeChanged(parentPosition, 1, payload);
 		} else {
 			//Notify range removal
-			notifyItemRangeRemoved(positionStart, itemCount);
-		}
-
-		//Remove orphan headers
-		if (removeOrphanHeaders) {
-			for (IHeader orphanHeader : mOrphanHeaders) {
-				headerPosition = getGlobalPositionOf(orphanHeader);
-				if (headerPosition >= 0) {
-					if (DEBUG) Log.v(TAG, "Removing orphan header " + orphanHeader);
-					if (!permanentDelete)
-						createRestoreItemInfo(headerPosition, (T) orphanHeader, payload);
-					mItems.remove(headerPosition);
-					notifyItemRemoved(headerPosition);
-				}
-			}
-			mOrphanHeaders.clear();
+			dispatchItemRangeRemoved(positionStart, itemCount);
+		}
+
+		//Remove orphan headers, in a batch they are removed at commit
+		if (removeOrphanHeaders && !isBatching()) {
+			removeOrphanHeaders(payload);
 		}
 
 		//Update empty view
-		if (mUpdateListener != null && !multiRange && initialCount > 0 && getItemCount() == 0)
+		if (mUpdateListener != null && !multiRange && !isBatching() && initialCount > 0 && getItemCount() == 0)
 			mUpdateListener.onUpdateEmptyView(getItemCount());
 	}
 
+	private void removeOrphanHeaders(@Nullable Object payload) {
+		for (IHeader orphanHeader : mOrphanHeaders) {
+			int headerPosition = getGlobalPositionOf(orphanHeader);
+			if (headerPosition >= 0) {
+				if (DEBUG) Log.v(TAG, "Removing orphan header " + orphanHeader);
+				if (!permanentDelete)
+					createRestoreItemInfo(headerPosition, (T) orphanHeader, payload);
+				onItemRemoved(headerPosition, mItems.remove(headerPosition));
+				dispatchItemRangeRemoved(headerPosition, 1);
+			}
+		}
+		mOrphanHeaders.clear();
+	}
+
 	/**
 	 * Convenience method to remove all Items that are currently selected.
 	 * <p>Parent will not be notified about the change, if a child is removed.</p>
@@ -2387,6 +3307,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	public void restoreDeletedItems() {
 		stopUndoTimer();
 		multiRange = true;
+		startCompoundOperation();
 		int initialCount = getItemCount();
 		//Selection coherence: start from a clear situation
 		clearSelection();
@@ -2397,7 +3318,7 @@ public class FlexibleAdapter<T extends IFlexible>
 			//Notify header if exists
 			IHeader header = getHeaderOf(restoreInfo.item);
 			if (header != null) {
-				notifyItemChanged(getGlobalPositionOf(header), restoreInfo.payload);
+				dispatchItemRangeChanged(getGlobalPositionOf(header), 1, restoreInfo.payload);
 			}
 
 			if (restoreInfo.relativePosition >= 0) {
@@ -2410,7 +3331,7 @@ public class FlexibleAdapter<T extends IFlexible>
 				if (hasSearchText() &&
 						getGlobalPositionOf(getHeaderOf(restoreInfo.item)) == RecyclerView.NO_POSITION) {
 					//Add parent + subItem
-					restoreInfo.refItem.setHidden(false);
+					setItemHidden(restoreInfo.refItem, false);
 					addItem(restoreInfo.getRestorePosition(false), restoreInfo.refItem);
 					addSubItem(restoreInfo.getRestorePosition(true), 0, restoreInfo.item, true, null);
 				} else {
@@ -2427,12 +3348,12 @@ public class FlexibleAdapter<T extends IFlexible>
 				//Add header if not visible
 				if (hasSearchText() && hasHeader(restoreInfo.item) &&
 						getGlobalPositionOf(getHeaderOf(restoreInfo.item)) == RecyclerView.NO_POSITION)
-					getHeaderOf(restoreInfo.item).setHidden(true);
+					setItemHidden(getHeaderOf(restoreInfo.item), true);
 				//Add item
 				addItem(restoreInfo.getRestorePosition(false), restoreInfo.item);
 			}
 			//Item is again visible
-			restoreInfo.item.setHidden(false);
+			setItemHidden(restoreInfo.item, false);
 
 			//Restore header linkage
 			if (unlinkOnRemoveHeader && isHeader(restoreInfo.item)) {
@@ -2443,6 +3364,8 @@ public class FlexibleAdapter<T extends IFlexible>
 				}
 			}
 		}
+		//Deliver the notifications before the selection is restored
+		endCompoundOperation();
 		//Restore selection if requested, before emptyBin
 		if (restoreSelection && !mRestoreList.isEmpty()) {
 			if (isExpandable(mRestoreList.get(0).item) || getExpandableOf(mRestoreList.get(0).item) == null) {
@@ -2591,9 +3514,12 @@ public class FlexibleAdapter<T extends IFlexible>
 	}
 
 	public void setSearchText(String searchText) {
+		String oldSearchText = mSearchText;
 		if (searchText != null)
 			mSearchText = searchText.trim().toLowerCase(Locale.getDefault());
 		else mSearchText = "";
+		//Background filters still running for the previous text are stale
+		if (!mSearchText.equals(oldSearchText)) mFilterGeneration++;
 	}
 
 	/**
@@ -2602,8 +3528,9 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * <p>If the items have highlighted text, those items must be refreshed in order to change the
 	 * highlighted text. This happens systematically when searchText is reduced in length by the
 	 * user.</p>
-	 * The notification is triggered in {@link #applyAndAnimateAdditions(List, List)} when new
-	 * items are not added.
+	 * The notification is triggered in {@link #animateTo(List)} for all the items already
+	 * displayed, except the {@link IDiffable} items paired with a new instance: these are
+	 * notified only if their content has changed.
 	 *
 	 * @param notifyChange true to trigger {@link #notifyItemChanged(int)} while filtering,
 	 *                     false otherwise
@@ -2619,6 +3546,7 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * items are removed and/or added in order to animate items in the final list.
 	 * <p>Same as {@link #filterItems(List)}, but with a delay in the execution, useful to grab
 	 * more characters from user before starting the search.</p>
+	 * Items are matched in background if {@link #setFilterInBackground(boolean)} is enabled.
 	 *
 	 * @param unfilteredItems the list to filter
 	 * @param delay           any non-negative delay
@@ -2648,6 +3576,8 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * @see #filterObject(IFlexible, String)
 	 */
 	public synchronized void filterItems(@NonNull List<T> unfilteredItems) {
+		//Background filters still running are now stale
+		mFilterGeneration++;
 		// NOTE: In case user has deleted some items and he changes or applies a filter while
 		// deletion is pending (Undo started), in order to be consistent, we need to recalculate
 		// the new position in the new list and finally skip those items to avoid they are shown!
@@ -2658,30 +3588,76 @@ public class FlexibleAdapter<T extends IFlexible>
 		int initialCount = getItemCount();
 		if (hasSearchText()) {
 			int newOriginalPosition = -1;
-			for (T item : unfilteredItems) {
-				//Check header first
-				T header = (T) getHeaderOf(item);
-				if (header != null && filterObject(header, getSearchText())
-						&& !values.contains(getHeaderOf(item))) {
-					values.add(header);
-				}
-				if (filterExpandableObject(item)) {
-					RestoreInfo restoreInfo = getPendingRemovedItem(item);
-					if (restoreInfo != null) {
-						//If found point to the new reference while filtering
-						restoreInfo.filterRefItem = ++newOriginalPosition < values.size() ? values.get(newOriginalPosition) : null;
-					} else {
-						if (hasHeader(item) && !values.contains(getHeaderOf(item))) {
-							values.add((T) getHeaderOf(item));
+			FilterResult cached = getCachedFilterResult(unfilteredItems);
+			boolean refining = cached == null && isRefiningFilter(unfilteredItems);
+			List<T> candidates;
+			Set<IFlexible> previousMatches;
+			if (cached != null) {
+				//Same search text filtered recently: the results are applied again
+				candidates = cached.candidates;
+				previousMatches = cached.matches;
+			} else if (refining) {
+				//When the search text is extended, only the previous matches are filtered again
+				candidates = mFilterCandidates;
+				previousMatches = mFilterMatches;
+			} else {
+				candidates = getIndexedCandidates(unfilteredItems, getSearchText(),
+						getIndexTexts(unfilteredItems, getSearchText()));
+				previousMatches = null;
+			}
+			if (candidates != unfilteredItems && !refining) hideFilteredOut(unfilteredItems, candidates);
+			if (cached != null) mFilterCacheResults = cached.results;
+			else if (mFilterCache != null) mFilterCacheResults = new IdentityHashMap<IFlexible, Boolean>();
+			List<T> newCandidates = new ArrayList<T>();
+			Set<IFlexible> newMatches = Collections.newSetFromMap(new IdentityHashMap<IFlexible, Boolean>());
+			Set<IHeader> headersAdded = Collections.newSetFromMap(new IdentityHashMap<IHeader, Boolean>());
+			//Matched on all the cores, the results are then collected in order as usual
+			boolean parallel = parallelFilter && mFilterResults == null && cached == null;
+			if (parallel) mFilterResults = matchInParallel(candidates, previousMatches, getSearchText(), mFilterGeneration);
+			try {
+				for (T item : candidates) {
+					//Check header first
+					T header = (T) getHeaderOf(item);
+					boolean candidate = false;
+					if (header != null && matches(header, getSearchText())) {
+						candidate = true;
+						if (headersAdded.add((IHeader) header)) values.add(header);
+					}
+					if (filterExpandableObject(item, previousMatches, newMatches)) {
+						candidate = true;
+						RestoreInfo restoreInfo = getPendingRemovedItem(item);
+						if (restoreInfo != null) {
+							//If found point to the new reference while filtering
+							restoreInfo.filterRefItem = ++newOriginalPosition < values.size() ? values.get(newOriginalPosition) : null;
+						} else {
+							if (hasHeader(item) && headersAdded.add(getHeaderOf(item))) {
+								values.add((T) getHeaderOf(item));
+							}
+							values.add(item);
+							newOriginalPosition += 1 + addFilteredSubItems(values, item);
 						}
-						values.add(item);
-						newOriginalPosition += 1 + addFilteredSubItems(values, item);
+					} else {
+						setItemHidden(item, true);
 					}
-				} else {
-					item.setHidden(true);
+					if (candidate) newCandidates.add(item);
+				}
+				if (mFilterCacheResults != null)
+					putCachedFilterResult(unfilteredItems, new FilterResult(newCandidates, newMatches, mFilterCacheResults));
+			} finally {
+				if (parallel) mFilterResults = null;
+				mFilterCacheResults = null;
+			}
+			if (incrementalFilter) {
+				if (!refining) {
+					mFilterUnfilteredCount = unfilteredItems.size();
+					mFilterUnfilteredGeneration = mDataSetGeneration;
 				}
+				mFilterCandidates = newCandidates;
+				mFilterMatches = newMatches;
+				mFilterCandidatesText = mSearchText;
 			}
 		} else if (hasNewSearchText(mSearchText)) {
+			clearFilterCandidates();
 			values = unfilteredItems; //with no filter
 			if (!mRestoreList.isEmpty()) {
 				for (RestoreInfo restoreInfo : mRestoreList) {
@@ -2696,32 +3672,515 @@ public class FlexibleAdapter<T extends IFlexible>
 			resetFilterFlags(values);
 		}
 
-		//Animate search results only in case of new SearchText
-		if (hasNewSearchText(mSearchText)) {
-			mOldSearchText = mSearchText;
-			animateTo(values);
-			//Restore headers if necessary
-			if (!hasSearchText()) {
-				//Add headers in post. It enqueues the modification for the LayoutManager
-				//Attempt to read from field 'android.support.v7.widget.RecyclerView$ViewHolder
-				// android.support.v7.widget.RecyclerView$LayoutParams.mViewHolder' on a null object reference
-				mHandler.post(new Runnable() {
-					@Override
-					public void run() {
-						showAllHeaders();
-					}
-				});
-			}
+		//Animate search results only in case of new SearchText
+		if (hasNewSearchText(mSearchText)) {
+			mOldSearchText = mSearchText;
+			animateTo(values);
+			//Restore headers if necessary
+			if (!hasSearchText()) {
+				//Add headers in post. It enqueues the modification for the LayoutManager
+				//Attempt to read from field 'android.support.v7.widget.RecyclerView$ViewHolder
+				// android.support.v7.widget.RecyclerView$LayoutParams.mViewHolder' on a null object reference
+				mHandler.post(new Runnable() {
+					@Override
+					public void run() {
+						showAllHeaders();
+					}
+				});
+			}
+		}
+
+		//Reset filtering flag
+		filtering = false;
+
+		//Call listener to update EmptyView
+		if (mUpdateListener != null &&
+				((initialCount == 0 && getItemCount() > 0) ||
+				(initialCount > 0 && getItemCount() == 0)))
+			mUpdateListener.onUpdateEmptyView(getItemCount());
+	}
+
+	/**
+	 * Same as {@link #filterItems(List)}, but the items are matched against the search text in
+	 * background: only the final result is applied on the main thread.
+	 * <p>The matching is cancelled as soon as the search text changes or a new filter is
+	 * requested: the results of a stale search text are never applied. Headers are matched on
+	 * the main thread.</p>
+	 * <b>Note:</b> {@link #filterObject(IFlexible, String)} is invoked in background, it must be
+	 * safe to call from another thread, and the items must not be modified while filtering.
+	 *
+	 * @param unfilteredItems the list to filter
+	 * @see #setFilterInBackground(boolean)
+	 * @see #setDiffExecutor(Executor)
+	 */
+	public void filterItemsAsync(@NonNull final List<T> unfilteredItems) {
+		final int generation = ++mFilterGeneration;
+		if (!hasSearchText()) {
+			//Nothing to match
+			filterItems(unfilteredItems);
+			return;
+		}
+		if (getCachedFilterResult(unfilteredItems) != null) {
+			//Nothing to match
+			filterItems(unfilteredItems);
+			return;
+		}
+		final String constraint = getSearchText();
+		//Candidates and matches are replaced, never modified: they can be read in background
+		final boolean refining = isRefiningFilter(unfilteredItems);
+		final List<T> previousCandidates = mFilterCandidates;
+		final Set<IFlexible> previousMatches = refining ? mFilterMatches : null;
+		//Items, subItems and headers are read here, the index is built in background
+		final List<List<String>> texts = refining ? null : getIndexTexts(unfilteredItems, constraint);
+		Executor executor = mDiffExecutor != null ? mDiffExecutor : getDefaultDiffExecutor();
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				//The index is built in background as well
+				List<T> candidates = refining ? previousCandidates : getIndexedCandidates(unfilteredItems, constraint, texts);
+				final Map<IFlexible, Boolean> results = parallelFilter
+						? matchInParallel(candidates, previousMatches, constraint, generation)
+						: matchCandidates(candidates, previousMatches, constraint, generation);
+				if (results == null) {
+					if (DEBUG) Log.v(TAG, "filterItemsAsync cancelled for constraint=" + constraint);
+					return;
+				}
+				mHandler.post(new Runnable() {
+					@Override
+					public void run() {
+						if (generation != mFilterGeneration) return;
+						mFilterResults = results;
+						try {
+							filterItems(unfilteredItems);
+						} finally {
+							mFilterResults = null;
+						}
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Matches the delayed filter, requested with {@link #filterItems(List, long)}, in background.
+	 * Default value is false.
+	 *
+	 * @param background true to match the items in background, false to filter on the main thread
+	 * @return this Adapter, so the call can be chained
+	 * @see #filterItemsAsync(List)
+	 */
+	public FlexibleAdapter setFilterInBackground(boolean background) {
+		this.filterInBackground = background;
+		return this;
+	}
+
+	public boolean isFilterInBackground() {
+		return filterInBackground;
+	}
+
+	/**
+	 * Matches the items against the search text on all the available cores: the candidates
+	 * are split in chunks, matched in parallel, then collected in the original order on the
+	 * calling thread, that waits for all the chunks. Headers are matched on the calling thread.
+	 * <p>Useful when {@link #filterObject(IFlexible, String)} is expensive and the list is too
+	 * large to be filtered on a single thread, but cannot be indexed. Lists shorter than
+	 * {@value #MIN_PARALLEL_CHUNK} items are matched on the calling thread only.</p>
+	 * <b>Note:</b> {@link #filterObject(IFlexible, String)} is invoked from multiple threads,
+	 * it must be thread safe, and the items must not be modified while filtering.
+	 * <p>Default value is false.</p>
+	 *
+	 * @param parallel true to match the items in parallel, false to match them on the calling
+	 *                 thread
+	 * @return this Adapter, so the call can be chained
+	 * @see #setFilterInBackground(boolean)
+	 */
+	public FlexibleAdapter setParallelFilter(boolean parallel) {
+		this.parallelFilter = parallel;
+		return this;
+	}
+
+	public boolean isParallelFilter() {
+		return parallelFilter;
+	}
+
+	/**
+	 * Matches the candidates and their subItems against the constraint.
+	 *
+	 * @return the results by item, null if the constraint became stale
+	 */
+	@Nullable
+	private Map<IFlexible, Boolean> matchCandidates(List<T> candidates, @Nullable Set<IFlexible> previousMatches,
+													String constraint, int generation) {
+		Map<IFlexible, Boolean> results = new IdentityHashMap<IFlexible, Boolean>();
+		for (T item : candidates) {
+			if (generation != mFilterGeneration) return null;
+			if (isExpandable(item) && ((IExpandable) item).getSubItems() != null) {
+				for (T subItem : ((IExpandable<?, T>) item).getSubItems()) {
+					if (previousMatches == null || previousMatches.contains(subItem))
+						results.put(subItem, filterObject(subItem, constraint));
+				}
+			}
+			results.put(item, filterObject(item, constraint));
+		}
+		return results;
+	}
+
+	/**
+	 * Same as {@link #matchCandidates(List, Set, String, int)}, but the chunks are matched in
+	 * parallel, the first chunk on the calling thread.
+	 */
+	@Nullable
+	private Map<IFlexible, Boolean> matchInParallel(List<T> candidates, @Nullable final Set<IFlexible> previousMatches,
+													final String constraint, final int generation) {
+		int cores = Runtime.getRuntime().availableProcessors();
+		//More chunks than cores: a slow chunk does not hold the others
+		int chunkSize = Math.max(MIN_PARALLEL_CHUNK, candidates.size() / (cores * 4) + 1);
+		if (cores < 2 || candidates.size() <= chunkSize) {
+			return matchCandidates(candidates, previousMatches, constraint, generation);
+		}
+		List<Future<Map<IFlexible, Boolean>>> futures = new ArrayList<Future<Map<IFlexible, Boolean>>>();
+		ExecutorService executor = getFilterExecutor();
+		for (int start = chunkSize; start < candidates.size(); start += chunkSize) {
+			final List<T> chunk = candidates.subList(start, Math.min(start + chunkSize, candidates.size()));
+			futures.add(executor.submit(new Callable<Map<IFlexible, Boolean>>() {
+				@Override
+				public Map<IFlexible, Boolean> call() throws Exception {
+					return matchCandidates(chunk, previousMatches, constraint, generation);
+				}
+			}));
+		}
+		Map<IFlexible, Boolean> results = null;
+		try {
+			results = matchCandidates(candidates.subList(0, chunkSize), previousMatches, constraint, generation);
+			for (Future<Map<IFlexible, Boolean>> future : futures) {
+				Map<IFlexible, Boolean> chunkResults = future.get();
+				if (results != null && chunkResults != null) results.putAll(chunkResults);
+				else results = null;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			results = null;
+		} catch (ExecutionException e) {
+			//filterObject() failed in a worker: rethrow as if it failed here
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			//Nothing to do for the chunks not yet started
+			for (Future<Map<IFlexible, Boolean>> future : futures) future.cancel(false);
+		}
+		return results;
+	}
+
+	private static synchronized ExecutorService getFilterExecutor() {
+		if (sFilterExecutor == null) {
+			sFilterExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+					new ThreadFactory() {
+						@Override
+						public Thread newThread(@NonNull Runnable runnable) {
+							Thread thread = new Thread(runnable, TAG + "-Filter");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+		return sFilterExecutor;
+	}
+
+	/**
+	 * When the new search text extends the previous one, only the items matched by the previous
+	 * search text are filtered again: each character typed costs as the previous matches,
+	 * instead of the entire list.
+	 * <p>This is correct only if every item matching a search text also matches all its
+	 * prefixes, as with the default {@code contains()} logic of the {@link IFilterable} items.
+	 * The unfilteredItems are the same items of the previous filter if they have the same size
+	 * and the items of the Adapter were not modified in the meantime, otherwise the entire list
+	 * is filtered again. If the items change without the Adapter, the previous matches must be
+	 * discarded with {@link #invalidateFilterCache()}.</p>
+	 * Default value is false.
+	 *
+	 * @param incremental true to refine the previous matches when possible, false to always
+	 *                    filter the entire list
+	 * @return this Adapter, so the call can be chained
+	 */
+	public FlexibleAdapter setIncrementalFilter(boolean incremental) {
+		this.incrementalFilter = incremental;
+		if (!incremental) clearFilterCandidates();
+		return this;
+	}
+
+	public boolean isIncrementalFilter() {
+		return incrementalFilter;
+	}
+
+	/**
+	 * @return true if the current search text extends the previous one and only the previous
+	 * matches must be filtered again, false to filter all the unfilteredItems
+	 */
+	private boolean isRefiningFilter(List<T> unfilteredItems) {
+		if (!incrementalFilter || mFilterCandidates == null || !mSearchText.startsWith(mFilterCandidatesText))
+			return false;
+		//Same items if not modified since the previous filter
+		return mFilterUnfilteredCount == unfilteredItems.size()
+				&& mFilterUnfilteredGeneration == mDataSetGeneration;
+	}
+
+	private void clearFilterCandidates() {
+		mFilterCandidatesText = null;
+		mFilterCandidates = null;
+		mFilterMatches = null;
+	}
+
+	/**
+	 * Builds an index of the searchable text of the items: the search text is then looked up
+	 * in the index and only the candidate items are filtered by
+	 * {@link #filterObject(IFlexible, String)}, instead of the entire list.
+	 * <p>Items are indexed with their {@link ISearchable#getSearchableText()}, with the text of
+	 * their subItems and of their header. Items not implementing {@link ISearchable}, or having
+	 * a subItem or a header not implementing it, are always filtered. Search texts shorter
+	 * than {@value SearchIndex#GRAM} characters filter the entire list.</p>
+	 * The index is built at the first filter and rebuilt when the unfilteredItems are not the
+	 * same of the previous filter: with {@link #filterItemsAsync(List)} the texts are read on
+	 * the main thread and the index is built in background. If the text of the items changes,
+	 * the index must be invalidated with {@link #invalidateFilterIndex()}.
+	 * <p>Default value is false.</p>
+	 *
+	 * @param indexed true to filter the candidates found in the index, false to always filter
+	 *                the entire list
+	 * @return this Adapter, so the call can be chained
+	 * @see ISearchable
+	 */
+	public FlexibleAdapter setIndexedFilter(boolean indexed) {
+		if (!indexed) mFilterIndex = null;
+		else if (mFilterIndex == null) mFilterIndex = new SearchIndex<T>();
+		return this;
+	}
+
+	public boolean isIndexedFilter() {
+		return mFilterIndex != null;
+	}
+
+	/**
+	 * Rebuilds the index at the next filter: to call when the searchable text of the items
+	 * has changed.
+	 * <p>The matches of the previous search text cannot be refined anymore and the next filter
+	 * is applied also if the search text is the same.</p>
+	 *
+	 * @see #setIndexedFilter(boolean)
+	 */
+	public void invalidateFilterIndex() {
+		SearchIndex<T> index = mFilterIndex;
+		if (index != null) {
+			synchronized (index) {
+				index.clear();
+			}
+			clearFilterCandidates();
+			mOldSearchText = "";
+		}
+	}
+
+	/**
+	 * Reads the searchable texts of the unfilteredItems, when the index must be rebuilt.
+	 * <p>Main thread only: subItems and headers are read from the Adapter.</p>
+	 *
+	 * @return the texts of each item, null if the index is already built on the
+	 * unfilteredItems or cannot be used
+	 */
+	@Nullable
+	private List<List<String>> getIndexTexts(List<T> unfilteredItems, String constraint) {
+		SearchIndex<T> index = mFilterIndex;
+		if (index == null || constraint.length() < SearchIndex.GRAM) return null;
+		synchronized (index) {
+			if (index.isIndexOf(unfilteredItems)) return null;
+		}
+		List<List<String>> texts = new ArrayList<List<String>>(unfilteredItems.size());
+		for (T item : unfilteredItems) {
+			texts.add(getSearchableTexts(item));
+		}
+		return texts;
+	}
+
+	/**
+	 * Can be called from a background thread.
+	 *
+	 * @param texts the texts read by {@link #getIndexTexts(List, String)} to rebuild the index,
+	 *              null to use the current index
+	 * @return the items that may match the constraint, the unfilteredItems if the index
+	 * cannot be used
+	 */
+	private List<T> getIndexedCandidates(List<T> unfilteredItems, String constraint,
+										 @Nullable List<List<String>> texts) {
+		SearchIndex<T> index = mFilterIndex;
+		if (index == null || constraint.length() < SearchIndex.GRAM) return unfilteredItems;
+		synchronized (index) {
+			if (texts != null) {
+				long start = System.currentTimeMillis();
+				index.clear();
+				for (int i = 0; i < unfilteredItems.size(); i++) {
+					index.add(unfilteredItems.get(i), texts.get(i));
+				}
+				if (DEBUG) Log.v(TAG, "Filter index built for " + index.size() + " items in "
+						+ (System.currentTimeMillis() - start) + "ms");
+			} else if (!index.isIndexOf(unfilteredItems)) {
+				//Invalidated in the meantime
+				return unfilteredItems;
+			}
+			return index.search(constraint);
+		}
+	}
+
+	/**
+	 * @return the texts where the search text of the item is looked for, null if the item
+	 * cannot be indexed
+	 */
+	@Nullable
+	private List<String> getSearchableTexts(T item) {
+		if (!(item instanceof ISearchable)) return null;
+		List<String> texts = new ArrayList<String>();
+		texts.add(((ISearchable) item).getSearchableText());
+		//Expandable is filtered if a subItem matches
+		if (isExpandable(item) && ((IExpandable) item).getSubItems() != null) {
+			for (T subItem : ((IExpandable<?, T>) item).getSubItems()) {
+				if (!(subItem instanceof ISearchable)) return null;
+				texts.add(((ISearchable) subItem).getSearchableText());
+			}
+		}
+		//Item is filtered if its header matches
+		IHeader header = getHeaderOf(item);
+		if (header != null) {
+			if (!(header instanceof ISearchable)) return null;
+			texts.add(((ISearchable) header).getSearchableText());
+		}
+		return texts;
+	}
+
+	/**
+	 * Hides the items excluded by the index, as if they were filtered out: expandables are
+	 * collapsed and their expansion is restored when the filter is cleared.
+	 *
+	 * @param candidates the candidates, in the same order of the unfilteredItems
+	 */
+	private void hideFilteredOut(List<T> unfilteredItems, List<T> candidates) {
+		int c = 0;
+		for (T item : unfilteredItems) {
+			if (c < candidates.size() && candidates.get(c) == item) {
+				c++;
+				continue;
+			}
+			if (isExpandable(item)) collapseFiltered((IExpandable) item);
+			setItemHidden(item, true);
+		}
+	}
+
+	/**
+	 * Collapses the expandable while filtering, saving if it was originally expanded.
+	 */
+	private void collapseFiltered(IExpandable expandable) {
+		if (isItemExpanded(expandable)) {
+			if (mExpandedFilterFlags == null)
+				mExpandedFilterFlags = new ArrayList<IExpandable>();
+			mExpandedFilterFlags.add(expandable);
+		}
+		setItemExpanded(expandable, false);
+	}
+
+	/**
+	 * Keeps the results of the recent search texts: when the user types again a search text
+	 * filtered recently, for instance after a backspace, the previous results are applied
+	 * without invoking {@link #filterObject(IFlexible, String)} again.
+	 * <p>The least recently used results are discarded when the total number of cached
+	 * results, one for each item, subItem and header matched, exceeds the maximum size.</p>
+	 * The cache is invalidated when the number of unfilteredItems changes and when the items
+	 * of the Adapter are modified, for instance by {@link #updateDataSet(List, boolean)} and
+	 * by {@link #updateItem(int, IFlexible, Object)}. If the items or their content change in
+	 * other ways, the cache must be invalidated with {@link #invalidateFilterCache()}.
+	 * <p>Default value is 0 (disabled).</p>
+	 *
+	 * @param maxSize the maximum number of results to keep, 0 to disable the cache
+	 * @return this Adapter, so the call can be chained
+	 */
+	public FlexibleAdapter setFilterCacheSize(@IntRange(from = 0) int maxSize) {
+		this.mFilterCacheSize = maxSize;
+		if (maxSize <= 0) {
+			mFilterCache = null;
+		} else if (mFilterCache == null) {
+			//Access order: the eldest entry is the least recently used
+			mFilterCache = new LinkedHashMap<String, FilterResult>(16, 0.75f, true);
+		} else {
+			trimFilterCache();
 		}
+		return this;
+	}
 
-		//Reset filtering flag
-		filtering = false;
+	public int getFilterCacheSize() {
+		return mFilterCacheSize;
+	}
 
-		//Call listener to update EmptyView
-		if (mUpdateListener != null &&
-				(initialCount == 0 && getItemCount() > 0) ||
-				(initialCount > 0 && getItemCount() == 0))
-			mUpdateListener.onUpdateEmptyView(getItemCount());
+	/**
+	 * Discards all the cached results of the filter and the previous matches of the
+	 * incremental filter.
+	 *
+	 * @see #setFilterCacheSize(int)
+	 */
+	public void invalidateFilterCache() {
+		clearFilterCandidates();
+		if (mFilterCache != null) mFilterCache.clear();
+	}
+
+	/**
+	 * @return the cached result of the current search text, null if not cached
+	 */
+	@Nullable
+	private FilterResult getCachedFilterResult(List<T> unfilteredItems) {
+		if (mFilterCache == null || mFilterCache.isEmpty()) return null;
+		//Same items if not modified since the results were cached, as the incremental filter
+		if (mFilterCacheCount != unfilteredItems.size() || mFilterCacheGeneration != mDataSetGeneration) {
+			invalidateFilterCache();
+			return null;
+		}
+		return mFilterCache.get(mSearchText);
+	}
+
+	private void putCachedFilterResult(List<T> unfilteredItems, FilterResult result) {
+		if (mFilterCache.isEmpty()) {
+			mFilterCacheCount = unfilteredItems.size();
+			mFilterCacheGeneration = mDataSetGeneration;
+		}
+		mFilterCache.put(mSearchText, result);
+		trimFilterCache();
+	}
+
+	private void trimFilterCache() {
+		int size = 0;
+		for (FilterResult result : mFilterCache.values()) {
+			size += result.results.size();
+		}
+		Iterator<FilterResult> iterator = mFilterCache.values().iterator();
+		while (size > mFilterCacheSize && iterator.hasNext()) {
+			size -= iterator.next().results.size();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * @return the result of the background matching or of the cache if available, otherwise
+	 * the result of {@link #filterObject(IFlexible, String)}
+	 */
+	private boolean matches(T item, String constraint) {
+		Boolean result = mFilterResults != null ? mFilterResults.get(item) : null;
+		if (result == null && mFilterCacheResults != null) result = mFilterCacheResults.get(item);
+		if (result == null) result = filterObject(item, constraint);
+		if (mFilterCacheResults != null) mFilterCacheResults.put(item, result);
+		return result;
+	}
+
+	/**
+	 * Filters a single item outside the filter loop, the previous matches cannot be refined
+	 * anymore.
+	 */
+	private boolean filterExpandableObject(T item) {
+		clearFilterCandidates();
+		return filterExpandableObject(item, null,
+				Collections.newSetFromMap(new IdentityHashMap<IFlexible, Boolean>()));
 	}
 
 	/**
@@ -2731,34 +4190,36 @@ public class FlexibleAdapter<T extends IFlexible>
 	 * <p>If the provided item is not an expandable it will be filtered as usual by
 	 * {@link #filterObject(T, String)}.</p>
 	 *
-	 * @param item the object with subItems to be inspected
+	 * @param item            the object with subItems to be inspected
+	 * @param previousMatches the subItems matched by the previous search text when refining,
+	 *                        null to inspect all subItems
+	 * @param matches         collects the subItems matched
 	 * @return true, if the object should be in the filteredResult, false otherwise
 	 */
-	private boolean filterExpandableObject(T item) {
+	private boolean filterExpandableObject(T item, @Nullable Set<IFlexible> previousMatches,
+										   @NonNull Set<IFlexible> matches) {
 		//Reset expansion flag
 		boolean filtered = false;
 		if (isExpandable(item)) {
 			IExpandable expandable = (IExpandable) item;
 			//Save which expandable was originally expanded before filtering it out
-			if (expandable.isExpanded()) {
-				if (mExpandedFilterFlags == null)
-					mExpandedFilterFlags = new ArrayList<IExpandable>();
-				mExpandedFilterFlags.add(expandable);
-			}
-			expandable.setExpanded(false);
+			collapseFiltered(expandable);
 			//Children scan filter
 			for (T subItem : getCurrentChildren(expandable)) {
-				//Reuse normal filter for Children
-				subItem.setHidden(!filterObject(subItem, getSearchText()));
-				if (!filtered && !subItem.isHidden()) {
+				//Reuse normal filter for Children, skipping those already filtered out
+				boolean hidden = previousMatches != null && !previousMatches.contains(subItem)
+						|| !matches(subItem, getSearchText());
+				setItemHidden(subItem, hidden);
+				if (!hidden) {
+					matches.add(subItem);
 					filtered = true;
 				}
 			}
 			//Expand if filter found text in subItems
-			expandable.setExpanded(filtered);
+			setItemExpanded(expandable, filtered);
 		}
 		//if not filtered already, fallback to Normal filter
-		return filtered || filterObject(item, getSearchText());
+		return filtered || matches(item, getSearchText());
 	}
 
 	/**
@@ -2797,7 +4258,7 @@ public class FlexibleAdapter<T extends IFlexible>
 				List<T> filteredSubItems = new ArrayList<T>();
 				List<T> subItems = expandable.getSubItems();
 				for (T subItem : subItems) {
-					if (!subItem.isHidden()) filteredSubItems.add(subItem);
+					if (!isItemHidden(subItem)) filteredSubItems.add(subItem);
 				}
 				values.addAll(filteredSubItems);
 				return filteredSubItems.size();
@@ -2813,19 +4274,19 @@ public class FlexibleAdapter<T extends IFlexible>
 		//Reset flags for all items!
 		for (int i = 0; i < items.size(); i++) {
 			T item = items.get(i);
-			item.setHidden(false);
+			setItemHidden(item, false);
 			if (isExpandable(item)) {
 				IExpandable expandable = (IExpandable) item;
 				//Reset expanded flag
-				expandable.setExpanded(mExpandedFilterFlags.contains(expandable));
+				setItemExpanded(expandable, mExpandedFilterFlags != null && mExpandedFilterFlags.contains(expandable));
 				if (hasSubItems(expandable)) {
 					List<T> subItems = expandable.getSubItems();
 					for (int k = 0; k < subItems.size(); k++) {
 						T subItem = subItems.get(k);
 						//Reset subItem hidden flag
-						subItem.setHidden(false);
+						setItemHidden(subItem, false);
 						//Show subItems for expanded items
-						if (expandable.isExpanded()) {
+						if (isItemExpanded(expandable)) {
 							int position = items.indexOf(item) + (k + 1);
 							if (position < items.size()) items.add(position, subItem);
 							else items.add(subItem);
@@ -2840,9 +4301,14 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	/**
 	 * Animate from the current list to another.
-	 * <p>Used by the filter.</p>
-	 * Unchanged items will be notified if {@code mNotifyChangeOfUnfilteredItems} is set true, and
-	 * payload will be set as a Boolean.
+	 * <p>Used by the filter and by {@link #updateDataSet(List, boolean)}.</p>
+	 * The edit script is computed by {@link ItemDiff}: removed, inserted and moved items are
+	 * the minimum necessary and contiguous removals and insertions are notified as ranges.
+	 * Paired items keep the current instance, unless they implement {@link IDiffable} and their
+	 * content has changed: in this case the new instance is displayed and only these items are
+	 * notified, with the payload they provide.
+	 * <p>Other unchanged items will be notified if {@code mNotifyChangeOfUnfilteredItems} is set
+	 * true, and payload will be set as a Boolean.</p>
 	 *
 	 * @param models the new list containing the new items
 	 * @return the cleaned up item list. make sure to set your new list to this one
@@ -2850,64 +4316,292 @@ public class FlexibleAdapter<T extends IFlexible>
 	 */
 	public List<T> animateTo(@Nullable List<T> models) {
 		if (models == null) models = new ArrayList<T>();
-		applyAndAnimateRemovals(mItems, models);
-		applyAndAnimateAdditions(mItems, models);
-		applyAndAnimateMovedItems(mItems, models);
+		if (applyBoundaryInsertion(models)) return mItems;
+		T[] oldItems = (T[]) mItems.toArray(new IFlexible[mItems.size()]);
+		int[] oldToNew = ItemDiff.matchItems(mItems, models, hasStableIds());
+		boolean[] unmoved = ItemDiff.findUnmovedItems(oldToNew, MAX_DIFF_EDITS);
+		boolean[] changed = ItemDiff.findChangedItems(mItems, models, oldToNew);
+		applyDiff(oldItems, oldToNew, unmoved, changed, models);
 		return mItems;
 	}
 
 	/**
-	 * Find out all removed items and animate them.
+	 * Enables the automatic choice between animated notifications and a full refresh for the
+	 * updates that go through the edit script: {@link #updateDataSet(List, boolean)} with
+	 * animations, {@link #updateDataSetAsync(List)} and the filter.
+	 * <p>The choice is made by {@link #shouldAnimateUpdate(int, int, int, int)} once the edit
+	 * script is known. Default value is false (always animate).</p>
+	 *
+	 * @param adaptive true to choose automatically, false to always animate
+	 * @return this Adapter, so the call can be chained
 	 */
-	protected void applyAndAnimateRemovals(List<T> from, List<T> newItems) {
-		int out = 0;
-		for (int i = from.size() - 1; i >= 0; i--) {
-			final T item = from.get(i);
-			if (!newItems.contains(item) && (!isHeader(item) || (isHeader(item) && headersShown))) {
-				if (DEBUG) Log.v(TAG, "animateRemovals remove position=" + i + " item=" + item);
-				from.remove(i);
-				notifyItemRemoved(i);
-				out++;
-			} else if (mNotifyChangeOfUnfilteredItems) {
-				from.set(i, item);
-				notifyItemChanged(i, mNotifyChangeOfUnfilteredItems);
-				if (DEBUG) Log.v(TAG, "animateRemovals   keep position=" + i + " item=" + item);
-			}
+	public FlexibleAdapter setAdaptiveUpdates(boolean adaptive) {
+		this.adaptiveUpdates = adaptive;
+		return this;
+	}
+
+	/**
+	 * @return true if the updates are animated only when convenient, false otherwise
+	 * @see #setAdaptiveUpdates(boolean)
+	 */
+	public boolean isAdaptiveUpdates() {
+		return adaptiveUpdates;
+	}
+
+	/**
+	 * Cost model of the adaptive updates.
+	 * <p>Each notification becomes an operation that RecyclerView must record and reorder
+	 * before the next layout, and that the ItemAnimator may animate: the cost grows with the
+	 * number of notifications. A full refresh costs the rebinding of the visible items only,
+	 * but without animations.<br/>
+	 * Default implementation animates when the notifications are no more than
+	 * {@value #MAX_NOTIFICATIONS_PER_VISIBLE_ITEM} for each visible item, and never animates
+	 * when no items are visible.</p>
+	 * Override to customize the model.
+	 *
+	 * @param oldCount      the number of items before the update
+	 * @param newCount      the number of items after the update
+	 * @param notifications the number of range notifications the animated update would send
+	 * @param visibleItems  the number of items currently laid out by the RecyclerView,
+	 *                      0 if the Adapter is not attached
+	 * @return true to animate the update, false to perform a full refresh
+	 * @see #setAdaptiveUpdates(boolean)
+	 */
+	protected boolean shouldAnimateUpdate(int oldCount, int newCount, int notifications, int visibleItems) {
+		return visibleItems > 0 && notifications <= visibleItems * MAX_NOTIFICATIONS_PER_VISIBLE_ITEM;
+	}
+
+	/**
+	 * Fast path for the feeds: if the new list is the current list extended at the tail or at
+	 * the head, the new items are inserted with a single notification, without computing the
+	 * edit script.
+	 * <p>The boundary items are checked first, then the current items are verified by reference.</p>
+	 *
+	 * @return true if the new items have been inserted, false if the edit script is necessary
+	 */
+	private boolean applyBoundaryInsertion(List<T> newItems) {
+		int size = mItems.size(), itemCount = newItems.size() - size;
+		if (size == 0 || itemCount <= 0) return false;
+		T first = mItems.get(0), last = mItems.get(size - 1);
+		int offset;
+		if (newItems.get(0) == first && newItems.get(size - 1) == last) {
+			offset = 0;//Append
+		} else if (newItems.get(itemCount) == first && newItems.get(itemCount + size - 1) == last) {
+			offset = itemCount;//Prepend
+		} else {
+			return false;
+		}
+		Iterator<T> newIterator = newItems.listIterator(offset);
+		for (T item : mItems) {
+			if (item != newIterator.next()) return false;
+		}
+		int positionStart = offset == 0 ? size : 0;
+		List<T> inserted = newItems.subList(positionStart, positionStart + itemCount);
+		if (DEBUG) Log.v(TAG, "animateTo add positionStart=" + positionStart + " itemCount=" + itemCount);
+		mItems.addAll(positionStart, inserted);
+		onItemsInserted(positionStart, inserted);
+		dispatchItemRangeInserted(positionStart, itemCount);
+		if (mNotifyChangeOfUnfilteredItems) {
+			dispatchItemRangeChanged(offset, size, mNotifyChangeOfUnfilteredItems);
+		}
+		return true;
+	}
+
+	/**
+	 * Applies the edit script computed from the old items to the new items.
+	 * <p>The main container must still contain the old items.</p>
+	 */
+	private void applyDiff(T[] oldItems, int[] oldToNew, boolean[] unmoved, boolean[] changed, List<T> newItems) {
+		boolean refresh = false;
+		if (adaptiveUpdates) {
+			int notifications = ItemDiff.countNotifications(oldToNew, unmoved, newItems.size());
+			int visibleItems = mRecyclerView != null ? mRecyclerView.getChildCount() : 0;
+			refresh = !shouldAnimateUpdate(oldItems.length, newItems.size(), notifications, visibleItems);
+			if (DEBUG) Log.v(TAG, "animateTo notifications=" + notifications + " visibleItems=" + visibleItems + " refresh=" + refresh);
+		}
+		if (refresh) startCompoundOperation();
+		//Items to notify as changed, with their payload
+		Map<T, Object> payloads = new IdentityHashMap<T, Object>();
+		applyDiffRemovals(oldItems, oldToNew, payloads);
+		applyDiffInsertionsAndMoves(mItems, oldItems, oldToNew, unmoved, changed, newItems, payloads);
+		notifyDiffChanges(payloads);
+		onItemsReset();
+		if (refresh) {
+			mNotificationBuffer.refresh();
+			endCompoundOperation();
+		}
+	}
+
+	/**
+	 * @return true if the main container contains exactly the specified items
+	 */
+	private boolean isSameItems(T[] items) {
+		if (items.length != mItems.size()) return false;
+		int position = 0;
+		for (T item : mItems) {
+			if (item != items[position++]) return false;
 		}
-		if (DEBUG) Log.v(TAG, "animateRemovals total out=" + out + " size=" + newItems.size());
+		return true;
 	}
 
 	/**
-	 * Find out all added items and animate them, update also existent positions with newItems.
+	 * Removes the old items not paired, coalescing the contiguous positions in a single range.
+	 * <p>Headers are kept if they are not shown by the new list and headers are hidden.</p>
 	 */
-	protected void applyAndAnimateAdditions(List<T> from, List<T> newItems) {
-		int in = 0;
-		for (int i = 0; i < newItems.size(); i++) {
-			final T item = newItems.get(i);
-			if (!from.contains(item)) {
-				if (DEBUG) Log.v(TAG, "animateAdditions    add position=" + i + " item=" + item);
-				from.add(item);//We add always at the end to animate moved items at the missing position
-				notifyItemInserted(from.size());
-				in++;
+	private void applyDiffRemovals(T[] oldItems, int[] oldToNew, Map<T, Object> payloads) {
+		int out = 0, end = -1;
+		for (int i = oldItems.length - 1; i >= -1; i--) {
+			boolean remove = i >= 0 && oldToNew[i] == ItemDiff.NO_POSITION &&
+					(!isHeader(oldItems[i]) || headersShown);
+			if (i >= 0 && !remove && mNotifyChangeOfUnfilteredItems) {
+				payloads.put(oldItems[i], mNotifyChangeOfUnfilteredItems);
+			}
+			if (remove && end < 0) {
+				end = i + 1;
+			} else if (!remove && end >= 0) {
+				int start = i + 1, count = end - start;
+				if (DEBUG) Log.v(TAG, "animateTo remove positionStart=" + start + " itemCount=" + count);
+				mItems.subList(start, end).clear();
+				if (mItemStates != null) {
+					for (int j = start; j < end; j++) mItemStates.forget(oldItems[j]);
+				}
+				dispatchItemRangeRemoved(start, count);
+				out += count;
+				end = -1;
 			}
 		}
-		if (DEBUG) Log.v(TAG, "animateAdditions total new=" + in + " size=" + newItems.size());
+		if (DEBUG) Log.v(TAG, "animateTo total out=" + out);
+	}
+
+	/**
+	 * Walks the new list in order: the unmoved items are already in position, the moved items
+	 * are moved next to the previous item and the new items are inserted in contiguous ranges.
+	 * <p>The paired items whose content has changed are replaced by the new instance.</p>
+	 * When many items are moved, the moves are performed on a {@link TreeList}: the position of
+	 * each moved item is found in logarithmic time and the elements are not shifted at every
+	 * move, the final order is then copied back in a single pass.
+	 */
+	private void applyDiffInsertionsAndMoves(List<T> items, T[] oldItems, int[] oldToNew, boolean[] unmoved,
+											 boolean[] changed, List<T> newItems, Map<T, Object> payloads) {
+		int[] newToOld = new int[newItems.size()];
+		Arrays.fill(newToOld, ItemDiff.NO_POSITION);
+		int toMove = 0;
+		for (int i = 0; i < oldToNew.length; i++) {
+			if (oldToNew[i] == ItemDiff.NO_POSITION) continue;
+			newToOld[oldToNew[i]] = i;
+			if (!unmoved[i]) toMove++;
+		}
+		List<T> target = items;
+		if (toMove > MAX_MOVES_IN_PLACE && !(items instanceof TreeList)) {
+			target = new TreeList<T>(items);
+			//Observers are notified when the items are copied back
+			startCompoundOperation();
+		}
+		List<T> pending = new ArrayList<T>();
+		int position = -1, moved = 0, inserted = 0;//Position of the last item in place
+		for (int j = 0; j < newToOld.length; j++) {
+			int i = newToOld[j];
+			if (i == ItemDiff.NO_POSITION) {
+				pending.add(newItems.get(j));
+				continue;
+			}
+			inserted += pending.size();
+			position = insertDiffRange(target, position, pending);
+			T item = oldItems[i];
+			if (unmoved[i]) {
+				//Skip the kept headers and the items still to be moved
+				position++;
+				while (target.get(position) != item) position++;
+			} else {
+				int fromPosition = indexOfInstance(target, item);
+				int toPosition = fromPosition <= position ? position : position + 1;
+				if (fromPosition != toPosition) {
+					if (DEBUG) Log.v(TAG, "animateTo fromPosition=" + fromPosition + " toPosition=" + toPosition);
+					target.add(toPosition, target.remove(fromPosition));
+					dispatchItemMoved(fromPosition, toPosition);
+					moved++;
+				}
+				position = toPosition;
+			}
+			if (changed[i]) {
+				T newItem = newItems.get(j);
+				payloads.remove(item);
+				payloads.put(newItem, ((IDiffable) item).getChangePayload(newItem));
+				replaceItemInstance(target, position, item, newItem);
+			} else if (mNotifyChangeOfUnfilteredItems && item != newItems.get(j) && item instanceof IDiffable) {
+				//Content is known to be the same
+				payloads.remove(item);
+			}
+		}
+		inserted += pending.size();
+		insertDiffRange(target, position, pending);
+		if (target != items) {
+			items.clear();
+			items.addAll(target);
+			endCompoundOperation();
+		}
+		if (DEBUG) Log.v(TAG, "animateTo total new=" + inserted + " moved=" + moved + " changed=" + payloads.size());
 	}
 
 	/**
-	 * Find out all moved items and animate them.
+	 * Replaces the instance displayed with the new instance of the same item, keeping the
+	 * state that the Adapter maintains on the item.
 	 */
-	protected void applyAndAnimateMovedItems(List<T> from, List<T> newItems) {
-		for (int toPosition = newItems.size() - 1; toPosition >= 0; toPosition--) {
-			final T item = newItems.get(toPosition);
-			final int fromPosition = from.indexOf(item);
-			if (fromPosition >= 0 && fromPosition != toPosition) {
-				if (DEBUG)
-					Log.v(TAG, "animateMoved fromPosition=" + fromPosition + " toPosition=" + toPosition);
-				T movedItem = from.remove(fromPosition);
-				if (toPosition < from.size()) from.add(toPosition, movedItem);
-				else from.add(movedItem);
-				notifyItemMoved(fromPosition, toPosition);
+	private void replaceItemInstance(List<T> items, int position, T oldItem, T newItem) {
+		items.set(position, newItem);
+		setItemHidden(newItem, isItemHidden(oldItem));
+		if (oldItem instanceof IExpandable && newItem instanceof IExpandable
+				&& isItemExpanded((IExpandable) oldItem)) {
+			setItemExpanded((IExpandable) newItem, true);
+		}
+		if (mItemStates != null) mItemStates.forget(oldItem);
+	}
+
+	/**
+	 * Inserts the pending new items after the specified position.
+	 *
+	 * @return the position of the last item inserted
+	 */
+	private int insertDiffRange(List<T> items, int position, List<T> pending) {
+		if (pending.isEmpty()) return position;
+		int positionStart = position + 1, itemCount = pending.size();
+		if (DEBUG) Log.v(TAG, "animateTo add positionStart=" + positionStart + " itemCount=" + itemCount);
+		items.addAll(positionStart, pending);
+		pending.clear();
+		dispatchItemRangeInserted(positionStart, itemCount);
+		return position + itemCount;
+	}
+
+	private static <T> int indexOfInstance(List<T> items, T item) {
+		if (items instanceof TreeList) {
+			//The first equal item is most likely the same instance
+			int position = items.indexOf(item);
+			if (position >= 0 && items.get(position) == item) return position;
+		}
+		for (int position = 0; position < items.size(); position++) {
+			if (items.get(position) == item) return position;
+		}
+		return -1;
+	}
+
+	/**
+	 * Notifies the changed items, coalescing the contiguous items with the same payload.
+	 */
+	private void notifyDiffChanges(Map<T, Object> payloads) {
+		if (payloads.isEmpty()) return;
+		int start = -1;
+		Object payload = null;
+		for (int position = 0; position <= mItems.size(); position++) {
+			T item = position < mItems.size() ? mItems.get(position) : null;
+			boolean changed = item != null && payloads.containsKey(item);
+			Object itemPayload = changed ? payloads.get(item) : null;
+			if (start >= 0 && (!changed || (payload != null ? !payload.equals(itemPayload) : itemPayload != null))) {
+				dispatchItemRangeChanged(start, position - start, payload);
+				start = -1;
+			}
+			if (changed && start < 0) {
+				start = position;
+				payload = itemPayload;
 			}
 		}
 	}
@@ -3050,13 +4744,16 @@ public class FlexibleAdapter<T extends IFlexible>
 		boolean expanded = isExpanded(item);
 		if (expanded) collapse(toPosition);
 		//Move item!
-		mItems.remove(fromPosition);
-		if (toPosition < getItemCount()) mItems.add(toPosition, item);
-		else mItems.add(item);
-		notifyItemMoved(fromPosition, toPosition);
-		if (payload != null) notifyItemChanged(toPosition, payload);
+		onItemRemoved(fromPosition, mItems.remove(fromPosition));
+		int position = Math.min(toPosition, getItemCount());
+		mItems.add(position, item);
+		onItemsInserted(position, Collections.singletonList(item));
+		dispatchItemMoved(fromPosition, toPosition);
+		if (payload != null) dispatchItemRangeChanged(toPosition, 1, payload);
 		//Eventually display the new Header
-		if (headersShown) {
+		if (headersShown && isBatching()) {
+			mBatchItems.add(item);
+		} else if (headersShown) {
 			showHeaderOf(toPosition, item);
 		}
 		//Restore original expanded status
@@ -3089,12 +4786,13 @@ public class FlexibleAdapter<T extends IFlexible>
 
 		//Perform item swap
 		Collections.swap(mItems, fromPosition, toPosition);
+		onItemsSwapped(fromPosition, toPosition);
 		if ((isSelected(fromPosition) && !isSelected(toPosition)) ||
 				(!isSelected(fromPosition) && isSelected(toPosition))) {
 			super.toggleSelection(fromPosition);
 			super.toggleSelection(toPosition);
 		}
-		notifyItemMoved(fromPosition, toPosition);
+		dispatchItemMoved(fromPosition, toPosition);
 		if (DEBUG) {
 			Log.v(TAG, "swapItems afterSwap fromItem=" + getItem(fromPosition) + " toItem=" + getItem(toPosition));
 		}
@@ -3210,18 +4908,68 @@ public class FlexibleAdapter<T extends IFlexible>
 		}
 	}
 
+	/*--------------------*/
+	/* ITEM STATE METHODS */
+	/*--------------------*/
+
+	/*
+	 * The state is kept by the items, unless they are shared with other Adapters.
+	 */
+
+	private boolean isItemHidden(@NonNull IFlexible item) {
+		return mItemStates != null ? mItemStates.isHidden(item) : item.isHidden();
+	}
+
+	private void setItemHidden(@NonNull IFlexible item, boolean hidden) {
+		if (mItemStates != null) mItemStates.setHidden(item, hidden);
+		else item.setHidden(hidden);
+	}
+
+	private boolean isItemExpanded(@NonNull IExpandable item) {
+		return mItemStates != null ? mItemStates.isExpanded(item) : item.isExpanded();
+	}
+
+	private void setItemExpanded(@NonNull IExpandable item, boolean expanded) {
+		if (mItemStates != null) mItemStates.setExpanded(item, expanded);
+		else item.setExpanded(expanded);
+		//The subItems might be displayed from now on
+		if (expanded) linkSubItems(item);
+	}
+
+	private boolean isItemEnabled(@NonNull IFlexible item) {
+		return mItemStates != null ? mItemStates.isEnabled(item) : item.isEnabled();
+	}
+
+	private IHeader getItemHeader(@NonNull ISectionable item) {
+		return mItemStates != null ? mItemStates.getHeader(item) : item.getHeader();
+	}
+
+	private void setItemHeader(@NonNull ISectionable item, @Nullable IHeader header) {
+		if (mItemStates != null) mItemStates.setHeader(item, header);
+		else item.setHeader(header);
+	}
+
 	/*------------------------*/
 	/* OTHERS PRIVATE METHODS */
 	/*------------------------*/
 
+	/**
+	 * @return true if the ViewTypes are the layout resources of the items, so they can be
+	 * counted without scanning the list
+	 */
+	private boolean hasAutoMappedViewTypes() {
+		//Mapped by getItemViewType, if not overridden: the state is read, never changed here
+		return autoMap;
+	}
+
 	/**
 	 * Internal mapper to remember and add all types for the RecyclerView.
 	 *
 	 * @param item the item to map
 	 */
 	private void mapViewTypeFrom(T item) {
-		if (item != null && !mTypeInstances.containsKey(item.getLayoutRes())) {
-			mTypeInstances.put(item.getLayoutRes(), item);
+		if (item != null && mTypeInstances.indexOfKey(item.getLayoutRes()) < 0) {
+			mTypeInstances.put(item.getLayoutRes(), new WeakReference<T>(item));
 			if (DEBUG)
 				Log.i(TAG, "Mapped viewType " + item.getLayoutRes() + " from " + item.getClass().getSimpleName());
 		}
@@ -3229,12 +4977,23 @@ public class FlexibleAdapter<T extends IFlexible>
 
 	/**
 	 * Retrieves the TypeInstance remembered within the FlexibleAdapter for an item.
+	 * <p>If the instance has been garbage collected, a current item of the same ViewType
+	 * takes its place.</p>
 	 *
 	 * @param viewType the ViewType of the item
 	 * @return the IFlexible instance, creator of the ViewType
 	 */
 	private T getViewTypeInstance(int viewType) {
-		return mTypeInstances.get(viewType);
+		WeakReference<T> reference = mTypeInstances.get(viewType);
+		T item = reference != null ? reference.get() : null;
+		if (item == null && reference != null) {
+			int position = mTypeCounter.getFirstPositionOf(viewType);
+			if (position >= 0) {
+				item = mItems.get(position);
+				mTypeInstances.put(viewType, new WeakReference<T>(item));
+			}
+		}
+		return item;
 	}
 
 	/**
@@ -3259,7 +5018,7 @@ public class FlexibleAdapter<T extends IFlexible>
 		int parentPosition = getGlobalPositionOf(expandable);
 		List<T> siblings = getExpandableList(expandable);
 		int childPosition = siblings.indexOf(item);
-		item.setHidden(true);
+		setItemHidden(item, true);
 		mRestoreList.add(new RestoreInfo((T) expandable, item, childPosition, payload));
 		if (DEBUG)
 			Log.v(TAG, "Recycled Child " + mRestoreList.get(mRestoreList.size() - 1) + " with Parent position=" + parentPosition);
@@ -3274,7 +5033,7 @@ public class FlexibleAdapter<T extends IFlexible>
 		//Collapse Parent before removal if it is expanded!
 		if (isExpanded(item))
 			collapse(position);
-		item.setHidden(true);
+		setItemHidden(item, true);
 		//Get the reference of the previous item (getItem returns null if outOfBounds)
 		//If null, it will be restored at position = 0
 		T refItem = getItem(position - 1);
@@ -3299,7 +5058,7 @@ public class FlexibleAdapter<T extends IFlexible>
 			List<T> allSubItems = expandable.getSubItems();
 			for (T subItem : allSubItems) {
 				//Pick up only no hidden items (doesn't get into account the filtered items)
-				if (!subItem.isHidden()) subItems.add(subItem);
+				if (!isItemHidden(subItem)) subItems.add(subItem);
 			}
 		}
 		return subItems;
@@ -3355,6 +5114,74 @@ public class FlexibleAdapter<T extends IFlexible>
 		}).sendMessageDelayed(Message.obtain(mHandler), delay);
 	}
 
+	/**
+	 * Starts a compound operation: notifications are buffered until the operation ends.
+	 */
+	private void startCompoundOperation() {
+		mNotificationBuffer.begin();
+	}
+
+	/**
+	 * Ends a compound operation, delivering the buffered notifications if it was the outermost.
+	 */
+	private void endCompoundOperation() {
+		if (mNotificationBuffer.end()) {
+			//Selection has already been adjusted at every buffered notification
+			flushingNotifications = true;
+			try {
+				mNotificationBuffer.flush(this);
+			} finally {
+				flushingNotifications = false;
+			}
+			//Also when the operations had no net effect
+			publishPendingSnapshot();
+		}
+	}
+
+	private void dispatchDataSetChanged() {
+		//Inside a compound operation, previous notifications must not be delivered after it
+		if (mNotificationBuffer.isBuffering()) mNotificationBuffer.refresh();
+		else notifyDataSetChanged();
+	}
+
+	/*
+	 * The selected positions are adjusted when the buffered notifications are recorded: the
+	 * next operations of the same compound operation select and deselect the current
+	 * positions, the buffered ranges are delivered only at the end.
+	 */
+
+	private void dispatchItemRangeInserted(int positionStart, int itemCount) {
+		if (mNotificationBuffer.isBuffering()) {
+			mNotificationBuffer.insert(positionStart, itemCount);
+			adjustSelectedPositions(positionStart, itemCount);
+		} else notifyItemRangeInserted(positionStart, itemCount);
+	}
+
+	private void dispatchItemRangeRemoved(int positionStart, int itemCount) {
+		if (mNotificationBuffer.isBuffering()) {
+			mNotificationBuffer.remove(positionStart, itemCount);
+			adjustSelectedPositions(positionStart, -itemCount);
+		} else notifyItemRangeRemoved(positionStart, itemCount);
+	}
+
+	private void dispatchItemRangeChanged(int positionStart, int itemCount, Object payload) {
+		if (mNotificationBuffer.isBuffering()) mNotificationBuffer.change(positionStart, itemCount, payload);
+		else notifyItemRangeChanged(positionStart, itemCount, payload);
+	}
+
+	private void dispatchItemMoved(int fromPosition, int toPosition) {
+		if (mNotificationBuffer.isBuffering()) mNotificationBuffer.move(fromPosition, toPosition);
+		else notifyItemMoved(fromPosition, toPosition);
+	}
+
+	private void adjustSelectedPositions(int positionStart, int itemCount) {
+		if (!filtering) {//Filtering has multiple insert and removal, we skip this process
+			if (adjustSelected)//Don't, if remove range / restore
+				adjustSelected(positionStart, itemCount);
+			adjustSelected = true;
+		}
+	}
+
 	private void adjustSelected(int startPosition, int itemCount) {
 		List<Integer> selectedPositions = getSelectedPositions();
 		boolean adjusted = false;
@@ -3566,17 +5393,53 @@ public class FlexibleAdapter<T extends IFlexible>
 		void onLoadMore();
 	}
 
+	/**
+	 * Creates the ViewHolders of a ViewType without retaining any item.
+	 *
+	 * @since 18/10/2026
+	 */
+	public interface ViewHolderFactory {
+		/**
+		 * Creates a new ViewHolder for the ViewType this factory has been registered for.
+		 *
+		 * @param adapter  the Adapter instance
+		 * @param inflater the LayoutInflater to inflate the layout
+		 * @param parent   the ViewGroup into which the new View will be added
+		 * @return a new ViewHolder
+		 * @see #registerViewHolderFactory(int, ViewHolderFactory)
+		 */
+		RecyclerView.ViewHolder createViewHolder(FlexibleAdapter adapter, LayoutInflater inflater, ViewGroup parent);
+	}
+
+	/**
+	 * @since 18/10/2026
+	 */
+	public interface OnChunkedUpdateListener {
+		/**
+		 * Called at every frame in which the slices of a chunked update have been applied.
+		 * <p>The progress is cumulative over all the chunked updates queued since no update
+		 * was pending.</p>
+		 *
+		 * @param processed the number of items already processed by the chunked updates
+		 * @param total     the number of items to process by the chunked updates
+		 * @see #setChunkedUpdates(boolean, long)
+		 */
+		void onChunkedUpdateProgress(int processed, int total);
+
+		/**
+		 * Called when no chunked update is pending anymore: all of them have been applied, or
+		 * the remaining slices have been cancelled by a new data set.
+		 */
+		void onChunkedUpdateComplete();
+	}
+
 	/**
 	 * Observer Class responsible to recalculate Selection and Expanded positions.
 	 */
 	private class AdapterDataObserver extends RecyclerView.AdapterDataObserver {
 
 		private void adjustPositions(int positionStart, int itemCount) {
-			if (!filtering) {//Filtering has multiple insert and removal, we skip this process
-				if (adjustSelected)//Don't, if remove range / restore
-					adjustSelected(positionStart, itemCount);
-				adjustSelected = true;
-			}
+			if (!flushingNotifications) adjustSelectedPositions(positionStart, itemCount);
 		}
 
 		private void updateOrClearHeader() {
@@ -3585,35 +5448,213 @@ public class FlexibleAdapter<T extends IFlexible>
 			}
 		}
 
+		/* The modification is notified: its result is published to the other threads */
+		private void publishSnapshot() {
+			if (!mNotificationBuffer.isBuffering()) publishPendingSnapshot();
+		}
+
 		/* Triggered by notifyDataSetChanged() */
 		@Override
 		public void onChanged() {
+			publishSnapshot();
 			updateOrClearHeader();
 		}
 
 		@Override
 		public void onItemRangeInserted(int positionStart, int itemCount) {
+			publishSnapshot();
 			adjustPositions(positionStart, itemCount);
 			updateOrClearHeader();
 		}
 
 		@Override
 		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			publishSnapshot();
 			adjustPositions(positionStart, -itemCount);
 			updateOrClearHeader();
 		}
 
 		@Override
 		public void onItemRangeChanged(int positionStart, int itemCount) {
+			publishSnapshot();
 			updateOrClearHeader();
 		}
 
 		@Override
 		public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+			publishSnapshot();
 			updateOrClearHeader();
 		}
 	}
 
+	/**
+	 * Mutation applied in slices by the chunked updates.
+	 */
+	private abstract class SlicedUpdate {
+		int processed = 0, total;
+
+		SlicedUpdate(int total) {
+			this.total = total;
+		}
+
+		/**
+		 * Applies the next slice, the list must be consistent at the end of each slice.
+		 *
+		 * @param count the maximum number of items to process
+		 */
+		abstract void applySlice(int count);
+
+		boolean isComplete() {
+			return processed >= total;
+		}
+	}
+
+	private class AddItemsSlices extends SlicedUpdate {
+		final List<T> items;
+		int position;
+
+		AddItemsSlices(int position, List<T> items) {
+			super(items.size());
+			this.position = position;
+			this.items = items;
+		}
+
+		@Override
+		void applySlice(int count) {
+			//Next slice goes after the last item inserted, it may have been moved in the meantime
+			if (processed > 0) {
+				T last = items.get(processed - 1);
+				if (position <= 0 || position > mItems.size() || mItems.get(position - 1) != last) {
+					int lastPosition = getGlobalPositionOf(last);
+					if (lastPosition >= 0) position = lastPosition + 1;
+				}
+			}
+			position = Math.min(position, mItems.size());
+			List<T> slice = new ArrayList<T>(items.subList(processed, Math.min(processed + count, total)));
+			insertItems(position, slice);
+			position += slice.size();
+			processed += slice.size();
+		}
+	}
+
+	private class UpdateDataSetSlices extends SlicedUpdate {
+		final List<T> items;
+
+		UpdateDataSetSlices(List<T> items) {
+			super(items.size());
+			this.items = items;
+		}
+
+		@Override
+		void applySlice(int count) {
+			List<T> slice = items.subList(processed, Math.min(processed + count, total));
+			int position;
+			if (processed == 0) {
+				//Same as updateDataSet without animations, with the first slice only
+				mItems = createItemList(slice);
+				if (mItemStates != null) mItemStates.clear();
+				onItemsReset();
+				mNotificationBuffer.refresh();
+				if (headersShown) resetHiddenStatus(items);
+				position = 0;
+			} else {
+				position = mItems.size();
+				mItems.addAll(slice);
+				onItemsInserted(position, slice);
+				dispatchItemRangeInserted(position, slice.size());
+			}
+			processed += slice.size();
+			//Same as onDataSetUpdated, limited to the items of this slice
+			int positionEnd = expandItemsAtStartUp(position, mItems.size());
+			if (headersShown) showHeadersOf(position, positionEnd);
+			if (isComplete()) onDataSetLoaded();
+		}
+	}
+
+	/**
+	 * The expandable items to expand are collected at the beginning: the positions change
+	 * between the frames, each item is found again at its current position.
+	 */
+	private class ExpandAllSlices extends SlicedUpdate {
+		final int level;
+		final List<T> targets = new ArrayList<T>();
+		int expanded = 0;
+
+		ExpandAllSlices(int level) {
+			super(0);
+			this.level = level;
+			addTargets(mItems);
+		}
+
+		private void addTargets(List<T> items) {
+			for (T item : items) {
+				if (isExpandable(item) && ((IExpandable) item).getExpansionLevel() <= level)
+					targets.add(item);
+			}
+			total = targets.size();
+		}
+
+		@Override
+		void applySlice(int count) {
+			int end = Math.min(processed + count, targets.size());
+			for (; processed < end; processed++) {
+				T item = targets.get(processed);
+				int position = getGlobalPositionOf(item);
+				if (position >= 0 && expand(position, true, false) > 0) {
+					expanded++;
+					//The subItems just expanded are expanded as well
+					addTargets(getCurrentChildren((IExpandable) item));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Parent of a subItem, with the position of the subItem in the parent.
+	 */
+	private static class ParentLink {
+		IExpandable parent;
+		int index;
+
+		ParentLink(IExpandable parent, int index) {
+			set(parent, index);
+		}
+
+		void set(IExpandable parent, int index) {
+			this.parent = parent;
+			this.index = index;
+		}
+
+		/**
+		 * Verifies that the parent still owns the subItem: only if the subItem is not at the
+		 * linked position anymore, the subItems are scanned to update it.
+		 *
+		 * @return true if the subItem is still a subItem of the parent
+		 */
+		boolean update(Object subItem) {
+			List subItems = parent.getSubItems();
+			if (subItems == null) return false;
+			if (index < subItems.size() && subItems.get(index) == subItem) return true;
+			index = subItems.indexOf(subItem);
+			return index >= 0;
+		}
+	}
+
+	/**
+	 * The items collected by the filter for a search text, with all the results of the matching.
+	 */
+	private class FilterResult {
+		final List<T> candidates;
+		final Set<IFlexible> matches;
+		final Map<IFlexible, Boolean> results;
+
+		FilterResult(List<T> candidates, Set<IFlexible> matches, Map<IFlexible, Boolean> results) {
+			this.candidates = candidates;
+			this.matches = matches;
+			this.results = results;
+		}
+	}
+
 	private class RestoreInfo {
 		// Positions
 		int refPosition = -1, relativePosition = -1;
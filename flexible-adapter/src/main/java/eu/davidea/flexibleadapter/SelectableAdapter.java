@@ -282,12 +282,15 @@ public abstract class SelectableAdapter extends RecyclerView.Adapter
 	 */
 	public void selectAll(Integer... viewTypes) {
 		mSelectAll = true;
-		List<Integer> viewTypesToSelect = Arrays.asList(viewTypes);
-		if (DEBUG) Log.v(TAG, "selectAll ViewTypes to include " + viewTypesToSelect);
+		//Primitive sorted copy: no boxing for each item
+		int[] viewTypesToSelect = new int[viewTypes.length];
+		for (int i = 0; i < viewTypes.length; i++) viewTypesToSelect[i] = viewTypes[i];
+		Arrays.sort(viewTypesToSelect);
+		if (DEBUG) Log.v(TAG, "selectAll ViewTypes to include " + Arrays.toString(viewTypesToSelect));
 		int positionStart = 0, itemCount = 0;
 		for (int i = 0; i < getItemCount(); i++) {
-			if (isSelectable(i) &&
-					(viewTypesToSelect.isEmpty() || viewTypesToSelect.contains(getItemViewType(i)))) {
+			if (isSelectable(i) && (viewTypesToSelect.length == 0 ||
+					Arrays.binarySearch(viewTypesToSelect, getItemViewType(i)) >= 0)) {
 				mSelectedPositions.add(i);
 				itemCount++;
 			} else {
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.items;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+
+import java.util.List;
+
+import eu.davidea.flexibleadapter.FlexibleAdapter;
+
+/**
+ * Memory-compact variant of {@link AbstractFlexibleItem}: all the flags recognized by the
+ * FlexibleAdapter are packed in a single {@code int}, reducing the size of each instance.
+ * <p>Subclasses can pack their own flags in the same field, using the bits starting from
+ * {@link #FLAG_FIRST_USER}, i.e. the expanded flag of an {@link IExpandable}:
+ * <pre>
+ * public boolean isExpanded() {
+ *     return hasFlag(FLAG_FIRST_USER);
+ * }
+ *
+ * public void setExpanded(boolean expanded) {
+ *     setFlag(FLAG_FIRST_USER, expanded);
+ * }</pre></p>
+ * Use this class for lists with a very large number of items.
+ *
+ * @param <VH> {@link RecyclerView.ViewHolder}
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public abstract class AbstractCompactFlexibleItem<VH extends RecyclerView.ViewHolder>
+		implements IFlexible<VH> {
+
+	private static final String MAPPING_ILLEGAL_STATE = "If you want FlexibleAdapter creates and binds ViewHolder for you, you must override and implement the method ";
+
+	/* Item flags recognized by the FlexibleAdapter */
+	protected static final int FLAG_ENABLED = 1, FLAG_HIDDEN = 1 << 1,
+			FLAG_SELECTABLE = 1 << 2, FLAG_DRAGGABLE = 1 << 3, FLAG_SWIPEABLE = 1 << 4;
+	/* First bit available for the subclasses */
+	protected static final int FLAG_FIRST_USER = 1 << 5;
+
+	/* Same default values of AbstractFlexibleItem */
+	private int mFlags = FLAG_ENABLED | FLAG_SELECTABLE;
+
+	/*---------------*/
+	/* BASIC METHODS */
+	/*---------------*/
+
+	/**
+	 * You <b>must</b> implement this method to compare items identifiers.
+	 *
+	 * @param o instance to compare
+	 * @return true if items are equals, false otherwise.
+	 * @see AbstractFlexibleItem#equals(Object)
+	 */
+	@Override
+	public abstract boolean equals(Object o);
+
+	/**
+	 * @param flag one or more flags
+	 * @return true if all the flags are set, false otherwise
+	 */
+	protected final boolean hasFlag(int flag) {
+		return (mFlags & flag) == flag;
+	}
+
+	/**
+	 * @param flag  one or more flags
+	 * @param value true to set the flags, false to clear them
+	 */
+	protected final void setFlag(int flag, boolean value) {
+		if (value) mFlags |= flag;
+		else mFlags &= ~flag;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return hasFlag(FLAG_ENABLED);
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		setFlag(FLAG_ENABLED, enabled);
+	}
+
+	@Override
+	public boolean isHidden() {
+		return hasFlag(FLAG_HIDDEN);
+	}
+
+	@Override
+	public void setHidden(boolean hidden) {
+		setFlag(FLAG_HIDDEN, hidden);
+	}
+
+	/*--------------------*/
+	/* SELECTABLE METHODS */
+	/*--------------------*/
+
+	@Override
+	public boolean isSelectable() {
+		return hasFlag(FLAG_SELECTABLE);
+	}
+
+	@Override
+	public void setSelectable(boolean selectable) {
+		setFlag(FLAG_SELECTABLE, selectable);
+	}
+
+	/*-------------------*/
+	/* TOUCHABLE METHODS */
+	/*-------------------*/
+
+	@Override
+	public boolean isDraggable() {
+		return hasFlag(FLAG_DRAGGABLE);
+	}
+
+	@Override
+	public void setDraggable(boolean draggable) {
+		setFlag(FLAG_DRAGGABLE, draggable);
+	}
+
+	@Override
+	public boolean isSwipeable() {
+		return hasFlag(FLAG_SWIPEABLE);
+	}
+
+	@Override
+	public void setSwipeable(boolean swipeable) {
+		setFlag(FLAG_SWIPEABLE, swipeable);
+	}
+
+	/*---------------------*/
+	/* VIEW HOLDER METHODS */
+	/*---------------------*/
+
+	@Override
+	public int getLayoutRes() {
+		return 0;
+	}
+
+	@Override
+	public VH createViewHolder(FlexibleAdapter adapter, LayoutInflater inflater, ViewGroup parent) {
+		throw new IllegalStateException("onCreateViewHolder(ViewGroup, ViewType) is not implemented. " +
+				MAPPING_ILLEGAL_STATE + this.getClass().getSimpleName() + ".createViewHolder().");
+	}
+
+	@Override
+	public void bindViewHolder(FlexibleAdapter adapter, VH holder, int position, List payloads) {
+		throw new IllegalStateException("onBindViewHolder(ViewHolder, Position[, Payloads]) is not implemented. " +
+				MAPPING_ILLEGAL_STATE + this.getClass().getSimpleName() + ".bindViewHolder().");
+	}
+
+}
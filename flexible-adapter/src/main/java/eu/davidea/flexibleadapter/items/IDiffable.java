@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.items;
+
+import android.support.annotation.Nullable;
+
+/**
+ * When the data set is updated with new instances of the same items, in order to rebind only
+ * the items whose content has changed, an item must implement this interface.
+ * <p>The item displayed is compared with the new instance of the same item (same
+ * {@code equals()} or same id): if the content is different, the displayed instance is replaced
+ * by the new instance and only this item is notified with the payload provided.</p>
+ *
+ * @author agent
+ * @see IFlexible
+ * @see IFilterable
+ * @since 18/10/2026 Created
+ */
+public interface IDiffable {
+
+	/**
+	 * Compares the content displayed by this item with the content of the new instance of
+	 * the same item, i.e. comparing a version number or the displayed fields.
+	 * <p><b>Note:</b> This method can be called from a background thread.</p>
+	 *
+	 * @param newItem the new instance of this item
+	 * @return true if the item doesn't need to be rebound, false if the content has changed
+	 */
+	boolean hasSameContentAs(IFlexible newItem);
+
+	/**
+	 * Describes the changes between this item and the new instance, so the ViewHolder can
+	 * rebind only the changed views.
+	 *
+	 * @param newItem the new instance of this item
+	 * @return the payload to notify the change, null to fully rebind the item
+	 */
+	@Nullable
+	Object getChangePayload(IFlexible newItem);
+
+}
@@ -24,6 +24,7 @@ package eu.davidea.flexibleadapter.items;
  * @see IExpandable
  * @see IHeader
  * @see IHolder
+ * @see ISearchable
  * @see ISectionable
  * @since 18/02/2016 Created
  */
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.items;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * When the Adapter has been created with stable ids enabled, an item must implement this
+ * interface to provide its stable id. The items not implementing it have
+ * {@link RecyclerView#NO_ID}.
+ *
+ * @author agent
+ * @see IFlexible
+ * @see IDiffable
+ * @since 18/10/2026 Created
+ */
+public interface IIdentifiable {
+
+	/**
+	 * Returns the stable identifier of this item.
+	 * <p>The id must be unique in the Adapter and must not change for the same content: after
+	 * a full refresh of the data set, the ViewHolders bound to items with the same id are then
+	 * reused by the RecyclerView instead of being recreated.</p>
+	 * <b>Note:</b> This method can be called from a background thread.
+	 *
+	 * @return the stable id of this item, {@link RecyclerView#NO_ID} if not available
+	 */
+	long getItemId();
+
+}
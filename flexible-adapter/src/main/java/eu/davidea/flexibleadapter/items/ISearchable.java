@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.items;
+
+import android.support.annotation.Nullable;
+
+/**
+ * An {@link IFilterable} item that exposes its searchable text, so the Adapter can index it
+ * once and find the candidate matches without scanning the whole list.
+ * <p>The indexed text must contain all the text the constraint is searched in: an item is
+ * filtered only if the constraint is found in its searchable text, then
+ * {@link IFilterable#filter(String)} decides as usual.</p>
+ *
+ * @author agent
+ * @see IFilterable
+ * @since 18/10/2026 Created
+ */
+public interface ISearchable extends IFilterable {
+
+	/**
+	 * Provides the text where the search text is looked for. It is lowercased by the Adapter.
+	 * <p>The text is read when the index is built: if it changes, the index must be
+	 * invalidated.</p>
+	 *
+	 * @return the searchable text of this item, null if this item never matches
+	 */
+	@Nullable
+	String getSearchableText();
+
+}
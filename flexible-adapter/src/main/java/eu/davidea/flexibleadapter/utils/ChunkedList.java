@@ -0,0 +1,272 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A List split in chunks of limited size, to be used as main container of the Adapter for
+ * very big lists.
+ * <p>Insertion and removal of a contiguous range of items cost proportionally to the size of
+ * the range plus the size of a chunk, instead of shifting the whole tail of the list as
+ * {@link ArrayList} does. This makes cheap the expansion and the collapse of items in the
+ * middle of the list.</p>
+ * Random access is performed with a binary search on the chunks, consecutive accesses in the
+ * same chunk are resolved in constant time.
+ * <p>Usage: pass an instance to the Adapter constructor and override
+ * {@code FlexibleAdapter.createItemList()} to keep it after a data set update.</p>
+ *
+ * @param <E> the type of the elements
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+
+	public static final int DEFAULT_CHUNK_SIZE = 256;
+
+	private final int mChunkSize;
+	private final ArrayList<ArrayList<E>> mChunks = new ArrayList<ArrayList<E>>();
+	/* Global position of the first element of each chunk */
+	private int[] mOffsets = new int[16];
+	private int mSize = 0, mLastChunk = 0;
+
+	public ChunkedList() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	public ChunkedList(@IntRange(from = 1) int chunkSize) {
+		if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		mChunkSize = chunkSize;
+	}
+
+	public ChunkedList(@NonNull Collection<? extends E> items) {
+		this(DEFAULT_CHUNK_SIZE);
+		addAll(items);
+	}
+
+	/*---------------*/
+	/* LIST METHODS  */
+	/*---------------*/
+
+	@Override
+	public int size() {
+		return mSize;
+	}
+
+	@Override
+	public E get(int index) {
+		checkIndex(index, mSize - 1);
+		int c = findChunk(index);
+		return mChunks.get(c).get(index - mOffsets[c]);
+	}
+
+	@Override
+	public E set(int index, E element) {
+		checkIndex(index, mSize - 1);
+		int c = findChunk(index);
+		return mChunks.get(c).set(index - mOffsets[c], element);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		checkIndex(index, mSize);
+		if (mChunks.isEmpty()) {
+			mChunks.add(new ArrayList<E>(mChunkSize));
+		}
+		int c = findChunk(index);
+		ArrayList<E> chunk = mChunks.get(c);
+		chunk.add(index - mOffsets[c], element);
+		mSize++;
+		modCount++;
+		if (chunk.size() > 2 * mChunkSize) splitChunk(c);
+		updateOffsets(c);
+	}
+
+	@Override
+	public boolean addAll(@NonNull Collection<? extends E> items) {
+		return addAll(mSize, items);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(int index, @NonNull Collection<? extends E> items) {
+		checkIndex(index, mSize);
+		Object[] elements = items.toArray();
+		if (elements.length == 0) return false;
+		List<E> elementList = (List<E>) Arrays.asList(elements);
+		if (mChunks.isEmpty()) {
+			mChunks.add(new ArrayList<E>(mChunkSize));
+		}
+		int c = findChunk(index);
+		ArrayList<E> chunk = mChunks.get(c);
+		int offset = index - mOffsets[c];
+		if (chunk.size() + elements.length <= 2 * mChunkSize) {
+			//Small insertion: stays in the chunk
+			chunk.addAll(offset, elementList);
+		} else {
+			//Big insertion: split the chunk and insert new chunks in the middle
+			List<ArrayList<E>> newChunks = new ArrayList<ArrayList<E>>();
+			for (int i = 0; i < elements.length; i += mChunkSize) {
+				newChunks.add(new ArrayList<E>(elementList.subList(i, Math.min(i + mChunkSize, elements.length))));
+			}
+			if (offset < chunk.size()) {
+				List<E> tail = chunk.subList(offset, chunk.size());
+				newChunks.add(new ArrayList<E>(tail));
+				tail.clear();
+			}
+			if (chunk.isEmpty()) {
+				mChunks.remove(c);
+				mChunks.addAll(c, newChunks);
+			} else {
+				mChunks.addAll(c + 1, newChunks);
+			}
+		}
+		mSize += elements.length;
+		modCount++;
+		if (chunk.size() > 2 * mChunkSize) splitChunk(c);
+		updateOffsets(c);
+		return true;
+	}
+
+	@Override
+	public E remove(int index) {
+		checkIndex(index, mSize - 1);
+		int c = findChunk(index);
+		ArrayList<E> chunk = mChunks.get(c);
+		E element = chunk.remove(index - mOffsets[c]);
+		mSize--;
+		modCount++;
+		if (chunk.isEmpty()) mChunks.remove(c);
+		else mergeChunks(c);
+		updateOffsets(c);
+		return element;
+	}
+
+	@Override
+	public void clear() {
+		mChunks.clear();
+		mSize = 0;
+		mLastChunk = 0;
+		modCount++;
+	}
+
+	/**
+	 * Called by {@code subList(fromIndex, toIndex).clear()}.
+	 */
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) return;
+		checkIndex(fromIndex, mSize - 1);
+		checkIndex(toIndex, mSize);
+		int first = findChunk(fromIndex);
+		int last = findChunk(toIndex - 1);
+		ArrayList<E> firstChunk = mChunks.get(first);
+		ArrayList<E> lastChunk = mChunks.get(last);
+		int fromOffset = fromIndex - mOffsets[first];
+		int toOffset = toIndex - mOffsets[last];
+		if (first == last) {
+			firstChunk.subList(fromOffset, toOffset).clear();
+		} else {
+			firstChunk.subList(fromOffset, firstChunk.size()).clear();
+			lastChunk.subList(0, toOffset).clear();
+			//Whole chunks in between
+			mChunks.subList(first + 1, last).clear();
+			if (lastChunk.isEmpty()) mChunks.remove(first + 1);
+		}
+		if (firstChunk.isEmpty()) mChunks.remove(first);
+		else mergeChunks(first);
+		mSize -= toIndex - fromIndex;
+		modCount++;
+		updateOffsets(first);
+	}
+
+	/*------------------*/
+	/* INTERNAL METHODS */
+	/*------------------*/
+
+	private void checkIndex(int index, int max) {
+		if (index < 0 || index > max)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+	}
+
+	/**
+	 * @return the chunk containing the position, the last chunk for the position after the end
+	 */
+	private int findChunk(int index) {
+		int chunks = mChunks.size();
+		//Consecutive accesses are usually in the same chunk
+		if (mLastChunk < chunks && index >= mOffsets[mLastChunk] &&
+				index < mOffsets[mLastChunk] + mChunks.get(mLastChunk).size()) {
+			return mLastChunk;
+		}
+		if (index >= mSize) return mLastChunk = chunks - 1;
+		int low = 0, high = chunks - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (mOffsets[mid] <= index) low = mid;
+			else high = mid - 1;
+		}
+		return mLastChunk = low;
+	}
+
+	private void splitChunk(int c) {
+		ArrayList<E> chunk = mChunks.get(c);
+		List<ArrayList<E>> newChunks = new ArrayList<ArrayList<E>>();
+		for (int i = mChunkSize; i < chunk.size(); i += mChunkSize) {
+			newChunks.add(new ArrayList<E>(chunk.subList(i, Math.min(i + mChunkSize, chunk.size()))));
+		}
+		chunk.subList(mChunkSize, chunk.size()).clear();
+		mChunks.addAll(c + 1, newChunks);
+	}
+
+	/**
+	 * Merges the chunk with the next one if they are both small, to avoid fragmentation.
+	 */
+	private void mergeChunks(int c) {
+		if (c + 1 < mChunks.size()) {
+			ArrayList<E> chunk = mChunks.get(c);
+			ArrayList<E> next = mChunks.get(c + 1);
+			if (chunk.size() + next.size() <= mChunkSize) {
+				chunk.addAll(next);
+				mChunks.remove(c + 1);
+			}
+		}
+	}
+
+	/**
+	 * Recalculates the offsets of the chunks starting from the specified chunk.
+	 */
+	private void updateOffsets(int c) {
+		int chunks = mChunks.size();
+		if (mOffsets.length < chunks) {
+			mOffsets = Arrays.copyOf(mOffsets, Math.max(chunks, mOffsets.length * 2));
+		}
+		c = Math.max(0, Math.min(c, chunks));
+		for (int i = c; i < chunks; i++) {
+			mOffsets[i] = i == 0 ? 0 : mOffsets[i - 1] + mChunks.get(i - 1).size();
+		}
+		mLastChunk = 0;
+	}
+
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import eu.davidea.flexibleadapter.items.IDiffable;
+import eu.davidea.flexibleadapter.items.IFlexible;
+import eu.davidea.flexibleadapter.items.IIdentifiable;
+
+/**
+ * Edit script between 2 lists of items, in 3 steps:
+ * <p>1. {@link #matchItems(List, List, boolean)} pairs each old item with a new item, by
+ * instance, by id if stable ids are enabled and by {@code equals()}. Old items not paired are
+ * removed, new items not paired are inserted.<br/>
+ * 2. {@link #findUnmovedItems(int[], int)} finds the longest sequence of paired items that keep
+ * their relative order, with the Myers O(ND) algorithm: only the remaining paired items need
+ * to be moved.<br/>
+ * 3. {@link #findChangedItems(List, List, int[])} finds the paired items to rebind.</p>
+ * The Adapter applies the script, coalescing the contiguous removals and insertions in range
+ * notifications.
+ *
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public final class ItemDiff {
+
+	public static final int NO_POSITION = -1;
+
+	/* Maximum number of equals() invoked between the items not paired by hash */
+	private static final long MAX_EQUALS_CHECKS = 1 << 20;
+	private static final int BY_INSTANCE = 0, BY_ID = 1, BY_EQUALS = 2;
+
+	private ItemDiff() {
+	}
+
+	/**
+	 * Pairs the items of the 2 lists: first the same instances, then the same ids if stable ids
+	 * are enabled, then the equal items.
+	 * <p><b>Note:</b> Equal items are paired in linear time only if they also implement
+	 * {@code hashCode()}, otherwise they are compared one by one within a limited budget.</p>
+	 *
+	 * @param oldItems  the current list
+	 * @param newItems  the new list
+	 * @param stableIds true to pair also the items with the same {@link IIdentifiable#getItemId()}
+	 * @return for each old position, the position of the paired new item or {@link #NO_POSITION}
+	 */
+	@NonNull
+	public static int[] matchItems(@NonNull List<? extends IFlexible> oldItems,
+								   @NonNull List<? extends IFlexible> newItems, boolean stableIds) {
+		int[] oldToNew = new int[oldItems.size()];
+		int[] newToOld = new int[newItems.size()];
+		Arrays.fill(oldToNew, NO_POSITION);
+		Arrays.fill(newToOld, NO_POSITION);
+		int matched = match(oldItems, newItems, oldToNew, newToOld, BY_INSTANCE);
+		if (stableIds && matched < oldToNew.length && matched < newToOld.length)
+			matched += match(oldItems, newItems, oldToNew, newToOld, BY_ID);
+		if (matched < oldToNew.length && matched < newToOld.length)
+			matched += match(oldItems, newItems, oldToNew, newToOld, BY_EQUALS);
+		if (matched < oldToNew.length && matched < newToOld.length)
+			matchByScan(oldItems, newItems, oldToNew, newToOld);
+		return oldToNew;
+	}
+
+	private static int match(List<? extends IFlexible> oldItems, List<? extends IFlexible> newItems,
+							 int[] oldToNew, int[] newToOld, int mode) {
+		Map<Object, Integer> heads = mode == BY_INSTANCE ?
+				new IdentityHashMap<Object, Integer>() : new HashMap<Object, Integer>();
+		//Chain the new items with the same key, in order of position
+		int[] next = new int[newToOld.length];
+		for (int j = newToOld.length - 1; j >= 0; j--) {
+			if (newToOld[j] != NO_POSITION) continue;
+			Object key = keyOf(newItems.get(j), mode);
+			if (key == null) continue;
+			Integer head = heads.put(key, j);
+			next[j] = head != null ? head : NO_POSITION;
+		}
+		if (heads.isEmpty()) return 0;
+		int matched = 0;
+		for (int i = 0; i < oldToNew.length; i++) {
+			if (oldToNew[i] != NO_POSITION) continue;
+			Object key = keyOf(oldItems.get(i), mode);
+			if (key == null) continue;
+			Integer head = heads.get(key);
+			if (head == null) continue;
+			int j = head;
+			if (next[j] != NO_POSITION) heads.put(key, next[j]);
+			else heads.remove(key);
+			oldToNew[i] = j;
+			newToOld[j] = i;
+			matched++;
+		}
+		return matched;
+	}
+
+	private static Object keyOf(IFlexible item, int mode) {
+		if (item == null) return null;
+		if (mode == BY_ID) {
+			long id = item instanceof IIdentifiable ? ((IIdentifiable) item).getItemId() : RecyclerView.NO_ID;
+			return id != RecyclerView.NO_ID ? id : null;
+		}
+		return item;
+	}
+
+	private static void matchByScan(List<? extends IFlexible> oldItems, List<? extends IFlexible> newItems,
+									int[] oldToNew, int[] newToOld) {
+		List<Integer> newLeft = new ArrayList<Integer>();
+		for (int j = 0; j < newToOld.length; j++) {
+			if (newToOld[j] == NO_POSITION && newItems.get(j) != null) newLeft.add(j);
+		}
+		int oldLeft = 0;
+		for (int i : oldToNew) {
+			if (i == NO_POSITION) oldLeft++;
+		}
+		if ((long) oldLeft * newLeft.size() > MAX_EQUALS_CHECKS) return;
+		for (int i = 0; i < oldToNew.length && !newLeft.isEmpty(); i++) {
+			IFlexible item = oldItems.get(i);
+			if (oldToNew[i] != NO_POSITION || item == null) continue;
+			for (int k = 0; k < newLeft.size(); k++) {
+				int j = newLeft.get(k);
+				if (item.equals(newItems.get(j))) {
+					oldToNew[i] = j;
+					newToOld[j] = i;
+					newLeft.remove(k);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the paired items that don't need to be moved, that is the longest sequence of old
+	 * items whose paired new items are in the same relative order.
+	 * <p>Since each item is paired at most once, the longest common subsequence of the 2 orders
+	 * is the longest increasing subsequence of the new positions in the old order. The Myers
+	 * algorithm costs O((N+M)D) where D is the number of edits between the 2 orders: filtering
+	 * and small changes cost linear time. If the edits exceed the specified limit (i.e. the
+	 * list is sorted differently), the same sequence is computed in O(N log N) by patience
+	 * sorting.</p>
+	 *
+	 * @param oldToNew the pairs found by {@link #matchItems(List, List, boolean)}
+	 * @param maxEdits the maximum number of edits to compute
+	 * @return for each old position, true if the item keeps its relative order, false if the
+	 * item must be moved or is not paired
+	 */
+	@NonNull
+	public static boolean[] findUnmovedItems(@NonNull int[] oldToNew, int maxEdits) {
+		boolean[] unmoved = new boolean[oldToNew.length];
+		int[] sequence = new int[oldToNew.length];
+		int[] oldPositions = new int[oldToNew.length];
+		int size = 0;
+		for (int i = 0; i < oldToNew.length; i++) {
+			if (oldToNew[i] == NO_POSITION) continue;
+			oldPositions[size] = i;
+			sequence[size++] = oldToNew[i];
+		}
+		int[] a = Arrays.copyOf(sequence, size);
+		int[] b = Arrays.copyOf(sequence, size);
+		Arrays.sort(b);
+		boolean[] common = new boolean[size];
+		if (!myers(a, b, maxEdits, common)) {
+			//Too many edits (i.e. the list is sorted differently)
+			Arrays.fill(common, false);
+			longestIncreasingSubsequence(a, common);
+		}
+		for (int x = 0; x < size; x++) {
+			unmoved[oldPositions[x]] = common[x];
+		}
+		return unmoved;
+	}
+
+	/**
+	 * Counts the notifications that the edit script would send, without change notifications:
+	 * the ranges of contiguous removed items, the ranges of contiguous inserted items and the
+	 * moved items.
+	 *
+	 * @param oldToNew the pairs found by {@link #matchItems(List, List, boolean)}
+	 * @param unmoved  the items found by {@link #findUnmovedItems(int[], int)}
+	 * @param newSize  the size of the new list
+	 * @return the number of structural notifications
+	 */
+	public static int countNotifications(@NonNull int[] oldToNew, @NonNull boolean[] unmoved, int newSize) {
+		int notifications = 0;
+		boolean[] paired = new boolean[newSize];
+		for (int i = 0; i < oldToNew.length; i++) {
+			if (oldToNew[i] == NO_POSITION) {
+				//A new range of removals
+				if (i == 0 || oldToNew[i - 1] != NO_POSITION) notifications++;
+			} else {
+				paired[oldToNew[i]] = true;
+				if (!unmoved[i]) notifications++;
+			}
+		}
+		for (int j = 0; j < newSize; j++) {
+			//A new range of insertions
+			if (!paired[j] && (j == 0 || paired[j - 1])) notifications++;
+		}
+		return notifications;
+	}
+
+	/**
+	 * Finds the paired items whose content has changed: the old item must implement
+	 * {@link IDiffable} and be paired with a different instance.
+	 *
+	 * @param oldItems the current list
+	 * @param newItems the new list
+	 * @param oldToNew the pairs found by {@link #matchItems(List, List, boolean)}
+	 * @return for each old position, true if the content of the paired item has changed
+	 * @see IDiffable#hasSameContentAs(IFlexible)
+	 */
+	@NonNull
+	public static boolean[] findChangedItems(@NonNull List<? extends IFlexible> oldItems,
+											 @NonNull List<? extends IFlexible> newItems, @NonNull int[] oldToNew) {
+		boolean[] changed = new boolean[oldToNew.length];
+		for (int i = 0; i < oldToNew.length; i++) {
+			if (oldToNew[i] == NO_POSITION) continue;
+			IFlexible oldItem = oldItems.get(i), newItem = newItems.get(oldToNew[i]);
+			changed[i] = oldItem != newItem && oldItem instanceof IDiffable &&
+					!((IDiffable) oldItem).hasSameContentAs(newItem);
+		}
+		return changed;
+	}
+
+	/**
+	 * Patience sorting: for each length, the smallest tail of the increasing subsequences
+	 * found so far is searched with a binary search.
+	 *
+	 * @param a      distinct values
+	 * @param common flags the elements of the longest increasing subsequence
+	 */
+	private static void longestIncreasingSubsequence(int[] a, boolean[] common) {
+		//Index in a of the smallest tail for each length, and predecessor of each element
+		int[] tails = new int[a.length];
+		int[] previous = new int[a.length];
+		int length = 0;
+		for (int x = 0; x < a.length; x++) {
+			int low = 0, high = length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (a[tails[mid]] < a[x]) low = mid + 1;
+				else high = mid;
+			}
+			previous[x] = low > 0 ? tails[low - 1] : NO_POSITION;
+			tails[low] = x;
+			if (low == length) length++;
+		}
+		for (int x = length > 0 ? tails[length - 1] : NO_POSITION; x != NO_POSITION; x = previous[x]) {
+			common[x] = true;
+		}
+	}
+
+	/**
+	 * Myers greedy algorithm on the shortest edit script between 2 sequences.
+	 *
+	 * @param common flags the elements of the first sequence that are part of the LCS
+	 * @return false if the edits exceed the limit, true if common has been filled
+	 */
+	private static boolean myers(int[] a, int[] b, int maxEdits, boolean[] common) {
+		int n = a.length, m = b.length;
+		//Common prefix and suffix
+		int start = 0;
+		while (start < n && start < m && a[start] == b[start]) {
+			common[start++] = true;
+		}
+		int endA = n, endB = m;
+		while (endA > start && endB > start && a[endA - 1] == b[endB - 1]) {
+			common[--endA] = true;
+			endB--;
+		}
+		int lenA = endA - start, lenB = endB - start;
+		int max = Math.min(lenA + lenB, maxEdits);
+		int offset = max + 1;
+		int[] v = new int[2 * max + 3];
+		List<int[]> trace = new ArrayList<int[]>();
+		for (int d = 0; d <= max; d++) {
+			for (int k = -d; k <= d; k += 2) {
+				int x;
+				if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+					x = v[offset + k + 1];
+				} else {
+					x = v[offset + k - 1] + 1;
+				}
+				int y = x - k;
+				while (x < lenA && y < lenB && a[start + x] == b[start + y]) {
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+				if (x >= lenA && y >= lenB) {
+					backtrack(trace, d, lenA, lenB, start, common);
+					return true;
+				}
+			}
+			trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+		}
+		return false;
+	}
+
+	private static void backtrack(List<int[]> trace, int edits, int x, int y, int start, boolean[] common) {
+		for (int d = edits; d > 0; d--) {
+			//Furthest points of the previous edit, indexed by k + (d - 1)
+			int[] v = trace.get(d - 1);
+			int k = x - y;
+			int prevK;
+			if (k == -d || (k != d && v[k - 1 + d - 1] < v[k + 1 + d - 1])) {
+				prevK = k + 1;
+			} else {
+				prevK = k - 1;
+			}
+			int prevX = v[prevK + d - 1];
+			int prevY = prevX - prevK;
+			while (x > prevX && y > prevY) {
+				common[start + --x] = true;
+				y--;
+			}
+			x = prevX;
+			y = prevY;
+		}
+		while (x > 0 && y > 0) {
+			common[start + --x] = true;
+			y--;
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.NonNull;
+import android.util.SparseArray;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+
+import eu.davidea.flexibleadapter.items.IExpandable;
+import eu.davidea.flexibleadapter.items.IFlexible;
+import eu.davidea.flexibleadapter.items.IHeader;
+import eu.davidea.flexibleadapter.items.ISectionable;
+
+/**
+ * Holds the mutable state of the items on behalf of an Adapter, so the same item instances
+ * can be displayed by several Adapters without being modified.
+ * <p>The items that were never modified are read directly. An item receives a compact id
+ * the first time its state is modified, its initial state is copied from the item itself;
+ * then the hidden, expanded and enabled flags are kept in bitsets indexed by that id. Header
+ * links are stored only for the items whose link has been changed. The ids of the removed
+ * items are reused.</p>
+ * <b>Note:</b> This class is not thread safe, it must be accessed from the main thread only.
+ *
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public final class ItemStates {
+
+	private final IdentityHashMap<IFlexible, Integer> mIds = new IdentityHashMap<IFlexible, Integer>();
+	private final BitSet mHidden = new BitSet(), mExpanded = new BitSet(), mEnabled = new BitSet();
+	private final BitSet mHeaderChanged = new BitSet();
+	private final SparseArray<IHeader> mHeaders = new SparseArray<IHeader>();
+	/* Ids released, available for the next items */
+	private final BitSet mFreeIds = new BitSet();
+	private int mNextId;
+
+	/**
+	 * Forgets the state of all items: next accesses start again from the state of the items.
+	 */
+	public void clear() {
+		mIds.clear();
+		mHidden.clear();
+		mExpanded.clear();
+		mEnabled.clear();
+		mHeaderChanged.clear();
+		mHeaders.clear();
+		mFreeIds.clear();
+		mNextId = 0;
+	}
+
+	/**
+	 * Forgets the state of an item that will not be displayed anymore.
+	 *
+	 * @param item the item replaced or discarded
+	 */
+	public void forget(@NonNull IFlexible item) {
+		Integer id = mIds.remove(item);
+		if (id == null) return;
+		mHidden.clear(id);
+		mExpanded.clear(id);
+		mEnabled.clear(id);
+		mHeaderChanged.clear(id);
+		mHeaders.remove(id);
+		mFreeIds.set(id);
+	}
+
+	/**
+	 * Forgets the state of an item removed from the Adapter, unless the state differs from
+	 * the state of the item itself and the Adapter still needs it (for instance the hidden
+	 * items that can be restored).
+	 *
+	 * @param item the item removed
+	 */
+	public void release(@NonNull IFlexible item) {
+		Integer id = mIds.get(item);
+		if (id != null && hasInitialState(item, id)) forget(item);
+	}
+
+	public boolean isHidden(@NonNull IFlexible item) {
+		Integer id = mIds.get(item);
+		return id != null ? mHidden.get(id) : item.isHidden();
+	}
+
+	public void setHidden(@NonNull IFlexible item, boolean hidden) {
+		mHidden.set(obtainId(item), hidden);
+	}
+
+	public boolean isExpanded(@NonNull IExpandable item) {
+		Integer id = mIds.get(item);
+		return id != null ? mExpanded.get(id) : item.isExpanded();
+	}
+
+	public void setExpanded(@NonNull IExpandable item, boolean expanded) {
+		mExpanded.set(obtainId(item), expanded);
+	}
+
+	public boolean isEnabled(@NonNull IFlexible item) {
+		Integer id = mIds.get(item);
+		return id != null ? mEnabled.get(id) : item.isEnabled();
+	}
+
+	public void setEnabled(@NonNull IFlexible item, boolean enabled) {
+		mEnabled.set(obtainId(item), enabled);
+	}
+
+	public IHeader getHeader(@NonNull ISectionable item) {
+		Integer id = mIds.get(item);
+		return id != null && mHeaderChanged.get(id) ? mHeaders.get(id) : item.getHeader();
+	}
+
+	public void setHeader(@NonNull ISectionable item, IHeader header) {
+		int id = obtainId(item);
+		mHeaderChanged.set(id);
+		mHeaders.put(id, header);
+	}
+
+	private boolean hasInitialState(IFlexible item, int id) {
+		return !mHeaderChanged.get(id)
+				&& mHidden.get(id) == item.isHidden()
+				&& mEnabled.get(id) == item.isEnabled()
+				&& (!(item instanceof IExpandable) || mExpanded.get(id) == ((IExpandable) item).isExpanded());
+	}
+
+	private int obtainId(IFlexible item) {
+		Integer id = mIds.get(item);
+		if (id == null) {
+			id = mFreeIds.nextSetBit(0);
+			if (id >= 0) mFreeIds.clear(id);
+			else id = mNextId++;
+			mIds.put(item, id);
+			//Initial state from the item
+			mHidden.set(id, item.isHidden());
+			mEnabled.set(id, item.isEnabled());
+			if (item instanceof IExpandable)
+				mExpanded.set(id, ((IExpandable) item).isExpanded());
+		}
+		return id;
+	}
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collects the notifications of a compound operation of the Adapter and delivers the minimal
+ * sequence at the end.
+ * <p>Insertions and removals adjacent or overlapping the previous one are merged in a single
+ * range. Changes are tracked through the following structural operations and delivered last:
+ * changes of removed items and of items just inserted are dropped, contiguous changes with
+ * the same payload are merged in a single range.</p>
+ * Operations can be nested, notifications are delivered when the outermost one ends. A full
+ * refresh replaces all the notifications of the operation with a single
+ * {@code notifyDataSetChanged()}.
+ *
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public final class NotificationBuffer {
+
+	private static final int INSERT = 0, REMOVE = 1, MOVE = 2;
+
+	private static final class Op {
+		final int type;
+		int position, count;
+		/* Destination of a move */
+		int toPosition = -1;
+
+		Op(int type, int position, int count) {
+			this.type = type;
+			this.position = position;
+			this.count = count;
+		}
+	}
+
+	private static final class Change {
+		int position;
+		final Object payload;
+
+		Change(int position, Object payload) {
+			this.position = position;
+			this.payload = payload;
+		}
+	}
+
+	private static final Comparator<Change> BY_POSITION = new Comparator<Change>() {
+		@Override
+		public int compare(Change lhs, Change rhs) {
+			return lhs.position < rhs.position ? -1 : (lhs.position == rhs.position ? 0 : 1);
+		}
+	};
+
+	private final List<Op> mOps = new ArrayList<Op>();
+	private final List<Change> mChanges = new ArrayList<Change>();
+	private int mDepth = 0;
+	private boolean mRefresh = false;
+
+	/**
+	 * Starts buffering, or enters a nested operation.
+	 */
+	public void begin() {
+		mDepth++;
+	}
+
+	/**
+	 * Ends the current operation.
+	 *
+	 * @return true if the outermost operation ended and the buffer must be flushed
+	 */
+	public boolean end() {
+		if (mDepth > 0) mDepth--;
+		return mDepth == 0;
+	}
+
+	public boolean isBuffering() {
+		return mDepth > 0;
+	}
+
+	/**
+	 * The operation ends with a full refresh: all the other notifications are dropped.
+	 */
+	public void refresh() {
+		mRefresh = true;
+		mOps.clear();
+		mChanges.clear();
+	}
+
+	public void insert(int positionStart, int itemCount) {
+		if (itemCount <= 0 || mRefresh) return;
+		for (Change change : mChanges) {
+			if (change.position >= positionStart) change.position += itemCount;
+		}
+		Op last = getLastOp();
+		if (last != null && last.type == INSERT && positionStart >= last.position
+				&& positionStart <= last.position + last.count) {
+			last.count += itemCount;
+		} else {
+			mOps.add(new Op(INSERT, positionStart, itemCount));
+		}
+	}
+
+	public void remove(int positionStart, int itemCount) {
+		if (itemCount <= 0 || mRefresh) return;
+		int positionEnd = positionStart + itemCount;
+		for (int i = mChanges.size() - 1; i >= 0; i--) {
+			Change change = mChanges.get(i);
+			if (change.position >= positionEnd) change.position -= itemCount;
+			else if (change.position >= positionStart) mChanges.remove(i);
+		}
+		Op last = getLastOp();
+		if (last != null && last.type == REMOVE && positionStart == last.position) {
+			last.count += itemCount;
+		} else if (last != null && last.type == REMOVE && positionEnd == last.position) {
+			last.position = positionStart;
+			last.count += itemCount;
+		} else if (last != null && last.type == INSERT && positionStart >= last.position
+				&& positionEnd <= last.position + last.count) {
+			//Items inserted and removed in the same operation are never displayed
+			last.count -= itemCount;
+			if (last.count == 0) mOps.remove(mOps.size() - 1);
+		} else {
+			mOps.add(new Op(REMOVE, positionStart, itemCount));
+		}
+	}
+
+	public void move(int fromPosition, int toPosition) {
+		if (fromPosition == toPosition || mRefresh) return;
+		for (Change change : mChanges) {
+			if (change.position == fromPosition) {
+				change.position = toPosition;
+			} else if (fromPosition < toPosition && change.position > fromPosition && change.position <= toPosition) {
+				change.position--;
+			} else if (toPosition < fromPosition && change.position >= toPosition && change.position < fromPosition) {
+				change.position++;
+			}
+		}
+		Op move = new Op(MOVE, fromPosition, 1);
+		move.toPosition = toPosition;
+		mOps.add(move);
+	}
+
+	public void change(int positionStart, int itemCount, @Nullable Object payload) {
+		if (mRefresh) return;
+		//Items just inserted will be bound anyway
+		Op last = getLastOp();
+		if (last != null && last.type == INSERT && positionStart >= last.position
+				&& positionStart + itemCount <= last.position + last.count) return;
+		for (int i = 0; i < itemCount; i++) {
+			mChanges.add(new Change(positionStart + i, payload));
+		}
+	}
+
+	/**
+	 * Delivers the buffered notifications to the observers of the Adapter and clears the buffer.
+	 *
+	 * @param adapter the Adapter that performed the operation
+	 */
+	public void flush(@NonNull RecyclerView.Adapter adapter) {
+		if (mRefresh) {
+			mRefresh = false;
+			adapter.notifyDataSetChanged();
+			return;
+		}
+		//Copy and clear first: observers may start a new operation
+		List<Op> ops = new ArrayList<Op>(mOps);
+		List<Change> changes = new ArrayList<Change>(mChanges);
+		mOps.clear();
+		mChanges.clear();
+		for (Op op : ops) {
+			switch (op.type) {
+				case INSERT:
+					adapter.notifyItemRangeInserted(op.position, op.count);
+					break;
+				case REMOVE:
+					adapter.notifyItemRangeRemoved(op.position, op.count);
+					break;
+				case MOVE:
+					adapter.notifyItemMoved(op.position, op.toPosition);
+					break;
+			}
+		}
+		//Stable sort: the changes of the same item keep their order
+		Collections.sort(changes, BY_POSITION);
+		int start = 0;
+		for (int i = 1; i <= changes.size(); i++) {
+			Change first = changes.get(start);
+			Change change = i < changes.size() ? changes.get(i) : null;
+			if (change != null && change.position == changes.get(i - 1).position
+					&& equals(change.payload, changes.get(i - 1).payload)) {
+				//Same notification twice
+				changes.remove(i--);
+			} else if (change == null || change.position != first.position + (i - start)
+					|| !equals(change.payload, first.payload)) {
+				adapter.notifyItemRangeChanged(first.position, i - start, first.payload);
+				start = i;
+			}
+		}
+	}
+
+	private Op getLastOp() {
+		return mOps.isEmpty() ? null : mOps.get(mOps.size() - 1);
+	}
+
+	private static boolean equals(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Index of the item positions of a list, used by the Adapter to avoid linear scans when
+ * looking up the global position of an item.
+ * <p>The index mirrors the list in a {@link TreeList}: lookups, insertions and removals cost
+ * O(log n), also for the items not in the list. Lookups respect the contract of
+ * {@link List#indexOf(Object)}: the position of the first item that {@code equals} is
+ * returned, items must then implement {@code hashCode()} consistently with {@code equals()}.</p>
+ * Every structural change of the list must be reported to the index with the same position
+ * and items; when the whole list is replaced, {@link #invalidate()} drops the mirror, that is
+ * rebuilt at the next lookup.
+ *
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public final class PositionIndex {
+
+	/* Copy of the list, null until the first lookup */
+	private TreeList<Object> mMirror;
+
+	/**
+	 * Clears the index, the list will be re-indexed at the next lookup.
+	 */
+	public void invalidate() {
+		mMirror = null;
+	}
+
+	/**
+	 * Updates the index after items have been inserted in the list.
+	 *
+	 * @param position the position of the first item inserted
+	 * @param items    the items inserted
+	 */
+	public void insert(int position, @NonNull Collection<?> items) {
+		if (mMirror != null) mMirror.addAll(position, items);
+	}
+
+	/**
+	 * Updates the index after a range of items has been removed from the list.
+	 *
+	 * @param position  the position of the first item removed
+	 * @param itemCount the number of items removed
+	 */
+	public void remove(int position, int itemCount) {
+		if (mMirror != null) mMirror.subList(position, position + itemCount).clear();
+	}
+
+	/**
+	 * Updates the index after an item has been replaced in the list.
+	 *
+	 * @param position the position of the item replaced
+	 * @param item     the new item
+	 */
+	public void set(int position, Object item) {
+		if (mMirror != null) mMirror.set(position, item);
+	}
+
+	/**
+	 * Updates the index after 2 items have been swapped in the list.
+	 *
+	 * @param fromPosition the first swapped position
+	 * @param toPosition   the second swapped position
+	 */
+	public void swap(int fromPosition, int toPosition) {
+		if (mMirror != null) mMirror.set(fromPosition, mMirror.set(toPosition, mMirror.get(fromPosition)));
+	}
+
+	/**
+	 * Retrieves the position of the first item in the list that equals the specified item.
+	 *
+	 * @param items the list currently indexed
+	 * @param item  the item to find
+	 * @return the position of the item, -1 if not found
+	 */
+	public int indexOf(@NonNull List<?> items, Object item) {
+		if (item == null) return -1;
+		//Changes not reported to the index, start from scratch
+		if (mMirror == null || mMirror.size() != items.size()) reindex(items);
+		int position = mMirror.indexOf(item);
+		if (position >= 0 && !item.equals(items.get(position))) {
+			reindex(items);
+			position = mMirror.indexOf(item);
+		}
+		return position;
+	}
+
+	private void reindex(List<?> items) {
+		mMirror = new TreeList<Object>(items);
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Inverted index of the trigrams of the items text, used by the Adapter to find the candidate
+ * matches of a search text without scanning the whole list.
+ * <p>Each item is indexed with one or more texts: a search text of at least {@link #GRAM}
+ * characters can be contained only in the items having all its trigrams, found by
+ * intersecting the posting lists. The candidates must then be verified, the index only
+ * excludes the items that cannot match.</p>
+ * Items that cannot be indexed are always candidates. Shorter search texts cannot use the
+ * index.
+ *
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public final class SearchIndex<T> {
+
+	public static final int GRAM = 3;
+
+	/**
+	 * Sorted ids of the items containing a trigram.
+	 */
+	private static final class Postings {
+		int[] ids = new int[4];
+		int size;
+
+		void add(int id) {
+			//Items are indexed in order: duplicates can only be the last id
+			if (size > 0 && ids[size - 1] == id) return;
+			if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+			ids[size++] = id;
+		}
+
+		boolean contains(int id) {
+			return Arrays.binarySearch(ids, 0, size, id) >= 0;
+		}
+	}
+
+	private static final Comparator<Postings> BY_SIZE = new Comparator<Postings>() {
+		@Override
+		public int compare(Postings lhs, Postings rhs) {
+			return lhs.size < rhs.size ? -1 : (lhs.size == rhs.size ? 0 : 1);
+		}
+	};
+
+	private final List<T> mItems = new ArrayList<T>();
+	private final Postings mUnindexed = new Postings();
+	/* Open addressing table of the trigrams, no boxing while indexing large lists */
+	private long[] mGrams = new long[1024];
+	private Postings[] mPostings = new Postings[1024];
+	private int mGramCount;
+
+	/**
+	 * Clears the index.
+	 */
+	public void clear() {
+		mItems.clear();
+		mUnindexed.size = 0;
+		mGrams = new long[1024];
+		mPostings = new Postings[1024];
+		mGramCount = 0;
+	}
+
+	public int size() {
+		return mItems.size();
+	}
+
+	/**
+	 * Appends an item to the index.
+	 *
+	 * @param item  the item to index
+	 * @param texts the texts to index for the item, null if the item cannot be indexed and
+	 *              must always be a candidate
+	 */
+	public void add(@NonNull T item, @Nullable Collection<String> texts) {
+		int id = mItems.size();
+		mItems.add(item);
+		if (texts == null) {
+			mUnindexed.add(id);
+			return;
+		}
+		for (String text : texts) {
+			if (text == null) continue;
+			text = text.toLowerCase(Locale.getDefault());
+			for (int i = 0; i + GRAM <= text.length(); i++) {
+				long gram = gramAt(text, i);
+				int slot = slotOf(gram);
+				if (mPostings[slot] == null) {
+					mGrams[slot] = gram;
+					mPostings[slot] = new Postings();
+					if (++mGramCount * 2 > mGrams.length) rehash();
+					slot = slotOf(gram);
+				}
+				mPostings[slot].add(id);
+			}
+		}
+	}
+
+	/**
+	 * Checks if this index has been built on the same items, in the same order, of the
+	 * provided list. Only references are compared.
+	 *
+	 * @param items the list to compare
+	 * @return true if the list contains the very same items of this index, false otherwise
+	 */
+	public boolean isIndexOf(@NonNull List<T> items) {
+		if (mItems.size() != items.size()) return false;
+		for (int i = 0; i < items.size(); i++) {
+			if (mItems.get(i) != items.get(i)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the items that may contain the search text.
+	 *
+	 * @param constraint the lowercase search text
+	 * @return the candidates in the order they were indexed, null if the search text is too
+	 * short to use the index
+	 */
+	@Nullable
+	public List<T> search(@NonNull String constraint) {
+		if (constraint.length() < GRAM) return null;
+		List<Postings> grams = new ArrayList<Postings>();
+		boolean missing = false;
+		for (int i = 0; i + GRAM <= constraint.length(); i++) {
+			Postings postings = mPostings[slotOf(gramAt(constraint, i))];
+			if (postings == null) {
+				missing = true;
+				break;
+			}
+			if (!grams.contains(postings)) grams.add(postings);
+		}
+		//The shortest list drives the intersection
+		Collections.sort(grams, BY_SIZE);
+		List<T> candidates = new ArrayList<T>();
+		Postings first = missing ? null : grams.get(0);
+		int size = first != null ? first.size : 0;
+		int i = 0, u = 0;
+		while (i < size || u < mUnindexed.size) {
+			int id;
+			//Merge the items not indexed, preserving the order
+			if (u < mUnindexed.size && (i == size || mUnindexed.ids[u] < first.ids[i])) {
+				id = mUnindexed.ids[u++];
+			} else {
+				id = first.ids[i++];
+				if (!containsAll(grams, id)) continue;
+			}
+			candidates.add(mItems.get(id));
+		}
+		return candidates;
+	}
+
+	private static boolean containsAll(List<Postings> grams, int id) {
+		for (int k = 1; k < grams.size(); k++) {
+			if (!grams.get(k).contains(id)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the slot of the trigram, or the empty slot where it must be added
+	 */
+	private int slotOf(long gram) {
+		int mask = mGrams.length - 1;
+		int slot = (int) ((gram * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+		while (mPostings[slot] != null && mGrams[slot] != gram) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void rehash() {
+		long[] grams = mGrams;
+		Postings[] postings = mPostings;
+		mGrams = new long[grams.length * 2];
+		mPostings = new Postings[postings.length * 2];
+		for (int i = 0; i < grams.length; i++) {
+			if (postings[i] != null) {
+				int slot = slotOf(grams[i]);
+				mGrams[slot] = grams[i];
+				mPostings[slot] = postings[i];
+			}
+		}
+	}
+
+	private static long gramAt(String text, int start) {
+		long gram = 0;
+		for (int i = start; i < start + GRAM; i++) {
+			gram = (gram << 16) | text.charAt(i);
+		}
+		return gram;
+	}
+
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * A List implemented as an order-statistic tree (a randomized balanced tree where each node
+ * knows the size of its subtree), to be used as main container of the Adapter for huge
+ * hierarchical lists.
+ * <p>All the operations the Adapter performs on its flattened hierarchy run in logarithmic
+ * time, independently of the size of the list:
+ * <br/>- {@link #get(int)} and {@link #set(int, Object)};
+ * <br/>- {@link #indexOf(Object)}, {@link #lastIndexOf(Object)} and {@link #contains(Object)},
+ * thanks to a hash index of the elements and the node parent links;
+ * <br/>- {@link #addAll(int, Collection)} and {@code subList(from, to).clear()} of a range
+ * (expansion and collapse) cost O(log n) plus the size of the range.</p>
+ * <b>Note:</b> Lookups respect the {@code equals()} contract of the List, the elements must
+ * then implement {@code hashCode()} consistently with {@code equals()} and must not change
+ * them while they are in the list.
+ * <p>Usage: pass an instance to the Adapter constructor and override
+ * {@code FlexibleAdapter.createItemList()} to keep it after a data set update.</p>
+ *
+ * @param <E> the type of the elements
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+@SuppressWarnings("unchecked")
+public class TreeList<E> extends AbstractList<E> {
+
+	private static final class Node<E> {
+		E value;
+		Node<E> left, right, parent;
+		int size = 1;
+		final int priority;
+
+		Node(E value, int priority) {
+			this.value = value;
+			this.priority = priority;
+		}
+	}
+
+	private final Random mRandom = new Random();
+	/* The node of each element, or the list of the nodes of equal elements */
+	private final HashMap<Object, Object> mNodes = new HashMap<Object, Object>();
+	private Node<E> mRoot;
+	/* Results of the split operation */
+	private Node<E> mSplitLeft, mSplitRight;
+
+	public TreeList() {
+	}
+
+	public TreeList(@NonNull Collection<? extends E> items) {
+		addAll(items);
+	}
+
+	/*---------------*/
+	/* LIST METHODS  */
+	/*---------------*/
+
+	@Override
+	public int size() {
+		return size(mRoot);
+	}
+
+	@Override
+	public E get(int index) {
+		return nodeAt(index).value;
+	}
+
+	@Override
+	public E set(int index, E element) {
+		Node<E> node = nodeAt(index);
+		E previous = node.value;
+		unmapNode(node);
+		node.value = element;
+		mapNode(node);
+		return previous;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		checkIndex(index, size());
+		Node<E> node = new Node<E>(element, mRandom.nextInt());
+		mapNode(node);
+		split(mRoot, index);
+		Node<E> right = mSplitRight;
+		mRoot = merge(merge(mSplitLeft, node), right);
+		mRoot.parent = null;
+		modCount++;
+	}
+
+	@Override
+	public boolean addAll(@NonNull Collection<? extends E> items) {
+		return addAll(size(), items);
+	}
+
+	@Override
+	public boolean addAll(int index, @NonNull Collection<? extends E> items) {
+		checkIndex(index, size());
+		if (items.isEmpty()) return false;
+		Node<E> range = build(items);
+		split(mRoot, index);
+		Node<E> right = mSplitRight;
+		mRoot = merge(merge(mSplitLeft, range), right);
+		mRoot.parent = null;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public E remove(int index) {
+		E element = get(index);
+		removeRange(index, index + 1);
+		return element;
+	}
+
+	@Override
+	public void clear() {
+		mRoot = null;
+		mNodes.clear();
+		modCount++;
+	}
+
+	/**
+	 * Called by {@code subList(fromIndex, toIndex).clear()}.
+	 */
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) return;
+		checkIndex(fromIndex, size() - 1);
+		checkIndex(toIndex, size());
+		split(mRoot, toIndex);
+		Node<E> right = mSplitRight;
+		split(mSplitLeft, fromIndex);
+		Node<E> left = mSplitLeft;
+		unmapTree(mSplitRight);
+		mRoot = merge(left, right);
+		if (mRoot != null) mRoot.parent = null;
+		modCount++;
+	}
+
+	@Override
+	public int indexOf(Object object) {
+		Object nodes = mNodes.get(object);
+		if (nodes == null) return -1;
+		if (nodes instanceof Node) return rankOf((Node<E>) nodes);
+		int index = Integer.MAX_VALUE;
+		for (Node<E> node : (List<Node<E>>) nodes) {
+			index = Math.min(index, rankOf(node));
+		}
+		return index;
+	}
+
+	@Override
+	public int lastIndexOf(Object object) {
+		Object nodes = mNodes.get(object);
+		if (nodes == null) return -1;
+		if (nodes instanceof Node) return rankOf((Node<E>) nodes);
+		int index = -1;
+		for (Node<E> node : (List<Node<E>>) nodes) {
+			index = Math.max(index, rankOf(node));
+		}
+		return index;
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		return indexOf(object) >= 0;
+	}
+
+	@NonNull
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private Node<E> next = first(mRoot), last;
+			private int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public E next() {
+				if (modCount != expectedModCount) throw new ConcurrentModificationException();
+				if (next == null) throw new NoSuchElementException();
+				last = next;
+				next = successor(next);
+				return last.value;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) throw new IllegalStateException();
+				if (modCount != expectedModCount) throw new ConcurrentModificationException();
+				TreeList.this.remove(rankOf(last));
+				last = null;
+				expectedModCount = modCount;
+			}
+		};
+	}
+
+	/*------------------*/
+	/* INTERNAL METHODS */
+	/*------------------*/
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private void checkIndex(int index, int max) {
+		if (index < 0 || index > max)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+	}
+
+	private Node<E> nodeAt(int index) {
+		checkIndex(index, size() - 1);
+		Node<E> node = mRoot;
+		while (true) {
+			int leftSize = size(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index == leftSize) {
+				return node;
+			} else {
+				index -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	private int rankOf(Node<E> node) {
+		int rank = size(node.left);
+		while (node.parent != null) {
+			if (node.parent.right == node) rank += size(node.parent.left) + 1;
+			node = node.parent;
+		}
+		return rank;
+	}
+
+	private Node<E> first(Node<E> node) {
+		if (node != null) while (node.left != null) node = node.left;
+		return node;
+	}
+
+	private Node<E> successor(Node<E> node) {
+		if (node.right != null) return first(node.right);
+		while (node.parent != null && node.parent.right == node) node = node.parent;
+		return node.parent;
+	}
+
+	private void update(Node<E> node) {
+		node.size = 1 + size(node.left) + size(node.right);
+		if (node.left != null) node.left.parent = node;
+		if (node.right != null) node.right.parent = node;
+	}
+
+	/**
+	 * Splits the tree: the first {@code count} nodes go in {@link #mSplitLeft}, the others in
+	 * {@link #mSplitRight}.
+	 */
+	private void split(Node<E> node, int count) {
+		if (node == null) {
+			mSplitLeft = mSplitRight = null;
+		} else if (size(node.left) >= count) {
+			split(node.left, count);
+			node.left = mSplitRight;
+			update(node);
+			mSplitRight = node;
+		} else {
+			split(node.right, count - size(node.left) - 1);
+			node.right = mSplitLeft;
+			update(node);
+			mSplitLeft = node;
+		}
+		if (mSplitLeft != null) mSplitLeft.parent = null;
+		if (mSplitRight != null) mSplitRight.parent = null;
+	}
+
+	private Node<E> merge(Node<E> left, Node<E> right) {
+		if (left == null) return right;
+		if (right == null) return left;
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			update(left);
+			return left;
+		} else {
+			right.left = merge(left, right.left);
+			update(right);
+			return right;
+		}
+	}
+
+	/**
+	 * Builds in linear time a tree with the items in the same order.
+	 */
+	private Node<E> build(Collection<? extends E> items) {
+		ArrayList<Node<E>> stack = new ArrayList<Node<E>>();
+		for (E item : items) {
+			Node<E> node = new Node<E>(item, mRandom.nextInt());
+			mapNode(node);
+			Node<E> last = null;
+			while (!stack.isEmpty() && stack.get(stack.size() - 1).priority < node.priority) {
+				last = stack.remove(stack.size() - 1);
+			}
+			node.left = last;
+			if (!stack.isEmpty()) stack.get(stack.size() - 1).right = node;
+			stack.add(node);
+		}
+		Node<E> root = stack.get(0);
+		computeSizes(root);
+		root.parent = null;
+		return root;
+	}
+
+	private void computeSizes(Node<E> node) {
+		if (node.left != null) computeSizes(node.left);
+		if (node.right != null) computeSizes(node.right);
+		update(node);
+	}
+
+	private void mapNode(Node<E> node) {
+		Object nodes = mNodes.get(node.value);
+		if (nodes == null) {
+			mNodes.put(node.value, node);
+		} else if (nodes instanceof Node) {
+			List<Node<E>> equalNodes = new ArrayList<Node<E>>(2);
+			equalNodes.add((Node<E>) nodes);
+			equalNodes.add(node);
+			mNodes.put(node.value, equalNodes);
+		} else {
+			((List<Node<E>>) nodes).add(node);
+		}
+	}
+
+	private void unmapNode(Node<E> node) {
+		Object nodes = mNodes.get(node.value);
+		if (nodes == node) {
+			mNodes.remove(node.value);
+		} else if (nodes instanceof List) {
+			List<Node<E>> equalNodes = (List<Node<E>>) nodes;
+			for (int i = equalNodes.size() - 1; i >= 0; i--) {
+				if (equalNodes.get(i) == node) {
+					equalNodes.remove(i);
+					break;
+				}
+			}
+			if (equalNodes.size() == 1) mNodes.put(node.value, equalNodes.get(0));
+		}
+	}
+
+	private void unmapTree(Node<E> node) {
+		if (node == null) return;
+		unmapTree(node.left);
+		unmapNode(node);
+		unmapTree(node.right);
+	}
+
+}
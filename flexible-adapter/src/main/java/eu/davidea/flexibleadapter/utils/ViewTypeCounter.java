@@ -0,0 +1,569 @@
+/*
+ * Copyright 2016 Davide Steduto
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.davidea.flexibleadapter.utils;
+
+import android.support.annotation.NonNull;
+import android.util.SparseIntArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import eu.davidea.flexibleadapter.items.IFlexible;
+
+/**
+ * Histogram of the ViewTypes (layout resources) of the items of a list, by position.
+ * <p>The ViewTypes are kept in chunks of consecutive positions, the chunks are the nodes of a
+ * randomized balanced tree where each node knows the number of items of each ViewType in its
+ * subtree. Every structural change of the list must be reported with the same position:
+ * <br/>- insertions, removals and replacements cost O(log n) plus the size of a chunk;
+ * <br/>- counting the items of some ViewTypes costs as much as the number of ViewTypes;
+ * <br/>- counting the items until a position costs O(log n) plus the size of a chunk.</p>
+ *
+ * @author agent
+ * @since 18/10/2026 Created
+ */
+public final class ViewTypeCounter {
+
+	private static final int CHUNK_SIZE = 128;
+	private static final int[] EMPTY = new int[0];
+	/* Ordinal of the null items, never counted */
+	private static final int NO_TYPE = 0;
+
+	private static final class Chunk {
+		final int[] types = new int[CHUNK_SIZE];//Ordinals of the ViewTypes, in order
+		int size;
+		int[] counts = EMPTY;//Count of each ordinal in this chunk
+		int[] subtreeCounts = EMPTY;//Count of each ordinal in the subtree
+		int subtreeSize, subtreeChunks;
+		Chunk left, right, parent;
+		final int priority;
+
+		Chunk(int priority) {
+			this.priority = priority;
+		}
+	}
+
+	private final Random mRandom = new Random();
+	/* ViewType -> ordinal */
+	private final SparseIntArray mOrdinals = new SparseIntArray();
+	private int mOrdinalCount = 1;
+	private Chunk mRoot;
+	/* Results of the locate and split operations */
+	private int mOffset;
+	private Chunk mSplitLeft, mSplitRight;
+
+	/**
+	 * Recounts all the items of the new list.
+	 *
+	 * @param items the new list
+	 */
+	public void reset(@NonNull List<? extends IFlexible> items) {
+		mRoot = null;
+		mOrdinals.clear();
+		mOrdinalCount = 1;
+		mRoot = build(items);
+	}
+
+	/**
+	 * @return the number of items counted
+	 */
+	public int size() {
+		return size(mRoot);
+	}
+
+	/**
+	 * Counts the items inserted in the list.
+	 *
+	 * @param position the position of the first item inserted
+	 * @param items    the items inserted
+	 */
+	public void insert(int position, @NonNull Collection<? extends IFlexible> items) {
+		if (items.size() < CHUNK_SIZE) {
+			for (IFlexible item : items) insert(position++, ordinalOf(item));
+			return;
+		}
+		//Big ranges are inserted as new chunks
+		int rank = 0;
+		if (mRoot != null) {
+			Chunk chunk = locate(position);
+			int offset = mOffset;
+			if (offset > 0 && offset < chunk.size) splitChunk(chunk, offset);
+			rank = rankOf(chunk) + (offset > 0 ? 1 : 0);
+		}
+		Chunk range = build(items);
+		split(mRoot, rank);
+		Chunk right = mSplitRight;
+		mRoot = merge(merge(mSplitLeft, range), right);
+		mRoot.parent = null;
+	}
+
+	/**
+	 * Uncounts a range of items removed from the list.
+	 *
+	 * @param position  the position of the first item removed
+	 * @param itemCount the number of items removed
+	 */
+	public void remove(int position, int itemCount) {
+		checkRange(position, itemCount);
+		int[] removed = new int[mOrdinalCount];
+		while (itemCount > 0) {
+			Chunk chunk = locate(position);
+			int offset = mOffset, count = Math.min(itemCount, chunk.size - offset);
+			for (int i = offset; i < offset + count; i++) {
+				removed[chunk.types[i]]++;
+			}
+			System.arraycopy(chunk.types, offset + count, chunk.types, offset, chunk.size - offset - count);
+			chunk.size -= count;
+			for (int ordinal = 0; ordinal < removed.length; ordinal++) {
+				if (removed[ordinal] > 0) chunk.counts[ordinal] -= removed[ordinal];
+			}
+			for (Chunk node = chunk; node != null; node = node.parent) {
+				node.subtreeSize -= count;
+				for (int ordinal = 0; ordinal < removed.length; ordinal++) {
+					if (removed[ordinal] > 0) node.subtreeCounts[ordinal] -= removed[ordinal];
+				}
+			}
+			Arrays.fill(removed, 0);
+			if (chunk.size == 0) {
+				detach(chunk);
+			} else if (chunk.size < CHUNK_SIZE / 4) {
+				mergeWithNext(chunk);
+			}
+			itemCount -= count;
+		}
+	}
+
+	/**
+	 * Counts the item that replaced another item in the list.
+	 *
+	 * @param position the position of the item
+	 * @param item     the new item
+	 */
+	public void set(int position, IFlexible item) {
+		checkRange(position, 1);
+		Chunk chunk = locate(position);
+		changeOrdinal(chunk, mOffset, ordinalOf(item));
+	}
+
+	/**
+	 * Counts 2 items swapped in the list.
+	 *
+	 * @param fromPosition the first swapped position
+	 * @param toPosition   the second swapped position
+	 */
+	public void swap(int fromPosition, int toPosition) {
+		checkRange(fromPosition, 1);
+		checkRange(toPosition, 1);
+		Chunk fromChunk = locate(fromPosition);
+		int fromOffset = mOffset;
+		Chunk toChunk = locate(toPosition);
+		int toOffset = mOffset;
+		int fromOrdinal = fromChunk.types[fromOffset];
+		changeOrdinal(fromChunk, fromOffset, toChunk.types[toOffset]);
+		changeOrdinal(toChunk, toOffset, fromOrdinal);
+	}
+
+	/**
+	 * @param viewTypes the ViewTypes to count
+	 * @return the number of the items of the specified ViewTypes
+	 */
+	public int getCount(Integer... viewTypes) {
+		if (mRoot == null) return 0;
+		int count = 0;
+		for (int ordinal : ordinalsOf(viewTypes)) {
+			count += count(mRoot.subtreeCounts, ordinal);
+		}
+		return count;
+	}
+
+	/**
+	 * @param position  the limit position (excluded)
+	 * @param viewTypes the ViewTypes to count
+	 * @return the number of the items of the specified ViewTypes before the position
+	 */
+	public int getCountUntil(int position, Integer... viewTypes) {
+		if (position >= size()) return getCount(viewTypes);
+		int[] ordinals = ordinalsOf(viewTypes);
+		int count = 0;
+		Chunk node = mRoot;
+		while (node != null && position > 0) {
+			int leftSize = size(node.left);
+			if (position < leftSize) {
+				node = node.left;
+				continue;
+			}
+			position -= leftSize;
+			if (node.left != null) count += count(node.left.subtreeCounts, ordinals);
+			if (position <= node.size) {
+				for (int i = 0; i < position; i++) {
+					if (contains(ordinals, node.types[i])) count++;
+				}
+				break;
+			}
+			count += count(node.counts, ordinals);
+			position -= node.size;
+			node = node.right;
+		}
+		return count;
+	}
+
+	/**
+	 * @param viewTypes the ViewTypes to find
+	 * @return the sorted positions of the items of the specified ViewTypes
+	 */
+	@NonNull
+	public int[] getPositionsOf(Integer... viewTypes) {
+		int[] ordinals = ordinalsOf(viewTypes);
+		int[] positions = new int[getCount(viewTypes)];
+		if (positions.length > 0) collectPositions(mRoot, 0, ordinals, positions, 0);
+		return positions;
+	}
+
+	/**
+	 * @param viewType the ViewType to find
+	 * @return the first position of an item of the specified ViewType, -1 if not found
+	 */
+	public int getFirstPositionOf(int viewType) {
+		int ordinal = mOrdinals.get(viewType);
+		if (ordinal == NO_TYPE || mRoot == null || count(mRoot.subtreeCounts, ordinal) == 0)
+			return -1;
+		int position = 0;
+		Chunk node = mRoot;
+		while (true) {
+			if (node.left != null && count(node.left.subtreeCounts, ordinal) > 0) {
+				node = node.left;
+				continue;
+			}
+			position += size(node.left);
+			if (count(node.counts, ordinal) > 0) {
+				for (int i = 0; ; i++) {
+					if (node.types[i] == ordinal) return position + i;
+				}
+			}
+			position += node.size;
+			node = node.right;
+		}
+	}
+
+	/*------------------*/
+	/* INTERNAL METHODS */
+	/*------------------*/
+
+	private int ordinalOf(IFlexible item) {
+		if (item == null) return NO_TYPE;
+		int viewType = item.getLayoutRes();
+		int ordinal = mOrdinals.get(viewType);
+		if (ordinal == NO_TYPE) {
+			ordinal = mOrdinalCount++;
+			mOrdinals.put(viewType, ordinal);
+		}
+		return ordinal;
+	}
+
+	/**
+	 * @return the distinct ordinals of the ViewTypes already counted
+	 */
+	private int[] ordinalsOf(Integer... viewTypes) {
+		int[] ordinals = new int[viewTypes.length];
+		int size = 0;
+		for (int viewType : viewTypes) {
+			int ordinal = mOrdinals.get(viewType);
+			if (ordinal != NO_TYPE && !contains(ordinals, size, ordinal)) ordinals[size++] = ordinal;
+		}
+		return Arrays.copyOf(ordinals, size);
+	}
+
+	private static boolean contains(int[] ordinals, int ordinal) {
+		return contains(ordinals, ordinals.length, ordinal);
+	}
+
+	private static boolean contains(int[] ordinals, int size, int ordinal) {
+		for (int i = 0; i < size; i++) {
+			if (ordinals[i] == ordinal) return true;
+		}
+		return false;
+	}
+
+	private static int count(int[] counts, int ordinal) {
+		return ordinal < counts.length ? counts[ordinal] : 0;
+	}
+
+	private static int count(int[] counts, int[] ordinals) {
+		int count = 0;
+		for (int ordinal : ordinals) count += count(counts, ordinal);
+		return count;
+	}
+
+	private static int[] increment(int[] counts, int ordinal, int delta) {
+		if (ordinal >= counts.length) counts = Arrays.copyOf(counts, ordinal + 1);
+		counts[ordinal] += delta;
+		return counts;
+	}
+
+	private static int size(Chunk node) {
+		return node == null ? 0 : node.subtreeSize;
+	}
+
+	private static int chunks(Chunk node) {
+		return node == null ? 0 : node.subtreeChunks;
+	}
+
+	private void checkRange(int position, int itemCount) {
+		if (position < 0 || itemCount < 0 || position + itemCount > size())
+			throw new IndexOutOfBoundsException("Position: " + position + ", Count: " + itemCount + ", Size: " + size());
+	}
+
+	/**
+	 * Finds the chunk of the position, the offset in the chunk is saved in {@link #mOffset}.
+	 * <p>The end of the list is located at the end of the last chunk.</p>
+	 */
+	private Chunk locate(int position) {
+		Chunk node = mRoot;
+		while (true) {
+			int leftSize = size(node.left);
+			if (position < leftSize) {
+				node = node.left;
+			} else if (position < leftSize + node.size ||
+					(node.right == null && position == leftSize + node.size)) {
+				mOffset = position - leftSize;
+				return node;
+			} else {
+				position -= leftSize + node.size;
+				node = node.right;
+			}
+		}
+	}
+
+	private int rankOf(Chunk node) {
+		int rank = chunks(node.left);
+		while (node.parent != null) {
+			if (node.parent.right == node) rank += chunks(node.parent.left) + 1;
+			node = node.parent;
+		}
+		return rank;
+	}
+
+	private void insert(int position, int ordinal) {
+		if (mRoot == null) {
+			mRoot = new Chunk(mRandom.nextInt());
+			update(mRoot);
+		}
+		if (position < 0 || position > size())
+			throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size());
+		Chunk chunk = locate(position);
+		int offset = mOffset;
+		if (chunk.size == CHUNK_SIZE) {
+			Chunk next = splitChunk(chunk, CHUNK_SIZE / 2);
+			if (offset > chunk.size) {
+				offset -= chunk.size;
+				chunk = next;
+			}
+		}
+		System.arraycopy(chunk.types, offset, chunk.types, offset + 1, chunk.size - offset);
+		chunk.types[offset] = ordinal;
+		chunk.size++;
+		chunk.counts = increment(chunk.counts, ordinal, 1);
+		for (Chunk node = chunk; node != null; node = node.parent) {
+			node.subtreeSize++;
+			node.subtreeCounts = increment(node.subtreeCounts, ordinal, 1);
+		}
+	}
+
+	private void changeOrdinal(Chunk chunk, int offset, int ordinal) {
+		int previous = chunk.types[offset];
+		if (previous == ordinal) return;
+		chunk.types[offset] = ordinal;
+		chunk.counts = increment(chunk.counts, previous, -1);
+		chunk.counts = increment(chunk.counts, ordinal, 1);
+		for (Chunk node = chunk; node != null; node = node.parent) {
+			node.subtreeCounts = increment(node.subtreeCounts, previous, -1);
+			node.subtreeCounts = increment(node.subtreeCounts, ordinal, 1);
+		}
+	}
+
+	/**
+	 * Moves the ViewTypes from the offset to the end of the chunk in a new chunk, that is
+	 * inserted after it.
+	 *
+	 * @return the new chunk
+	 */
+	private Chunk splitChunk(Chunk chunk, int offset) {
+		Chunk next = new Chunk(mRandom.nextInt());
+		next.size = chunk.size - offset;
+		System.arraycopy(chunk.types, offset, next.types, 0, next.size);
+		chunk.size = offset;
+		for (int i = 0; i < next.size; i++) {
+			next.counts = increment(next.counts, next.types[i], 1);
+			chunk.counts[next.types[i]]--;
+		}
+		updateToRoot(chunk);
+		update(next);
+		insertChunk(rankOf(chunk) + 1, next);
+		return next;
+	}
+
+	/**
+	 * Moves the ViewTypes of the next chunk in this chunk, if they fit.
+	 */
+	private void mergeWithNext(Chunk chunk) {
+		Chunk next = successor(chunk);
+		if (next == null || chunk.size + next.size > CHUNK_SIZE) return;
+		detach(next);
+		System.arraycopy(next.types, 0, chunk.types, chunk.size, next.size);
+		for (int i = 0; i < next.size; i++) {
+			chunk.counts = increment(chunk.counts, next.types[i], 1);
+		}
+		chunk.size += next.size;
+		updateToRoot(chunk);
+	}
+
+	private void insertChunk(int rank, Chunk chunk) {
+		split(mRoot, rank);
+		Chunk right = mSplitRight;
+		mRoot = merge(merge(mSplitLeft, chunk), right);
+		mRoot.parent = null;
+	}
+
+	private void detach(Chunk chunk) {
+		int rank = rankOf(chunk);
+		split(mRoot, rank);
+		Chunk left = mSplitLeft;
+		split(mSplitRight, 1);
+		mRoot = merge(left, mSplitRight);
+		if (mRoot != null) mRoot.parent = null;
+	}
+
+	private Chunk successor(Chunk node) {
+		if (node.right != null) {
+			node = node.right;
+			while (node.left != null) node = node.left;
+			return node;
+		}
+		while (node.parent != null && node.parent.right == node) node = node.parent;
+		return node.parent;
+	}
+
+	private void updateToRoot(Chunk node) {
+		for (; node != null; node = node.parent) update(node);
+	}
+
+	private void update(Chunk node) {
+		node.subtreeSize = node.size + size(node.left) + size(node.right);
+		node.subtreeChunks = 1 + chunks(node.left) + chunks(node.right);
+		int length = node.counts.length;
+		if (node.left != null) length = Math.max(length, node.left.subtreeCounts.length);
+		if (node.right != null) length = Math.max(length, node.right.subtreeCounts.length);
+		int[] counts = node.subtreeCounts.length == length ? node.subtreeCounts : new int[length];
+		System.arraycopy(node.counts, 0, counts, 0, node.counts.length);
+		Arrays.fill(counts, node.counts.length, length, 0);
+		if (node.left != null) add(counts, node.left.subtreeCounts);
+		if (node.right != null) add(counts, node.right.subtreeCounts);
+		node.subtreeCounts = counts;
+		if (node.left != null) node.left.parent = node;
+		if (node.right != null) node.right.parent = node;
+	}
+
+	private static void add(int[] counts, int[] values) {
+		for (int i = 0; i < values.length; i++) counts[i] += values[i];
+	}
+
+	/**
+	 * Splits the tree: the first {@code count} chunks go in {@link #mSplitLeft}, the others in
+	 * {@link #mSplitRight}.
+	 */
+	private void split(Chunk node, int count) {
+		if (node == null) {
+			mSplitLeft = mSplitRight = null;
+		} else if (chunks(node.left) >= count) {
+			split(node.left, count);
+			node.left = mSplitRight;
+			update(node);
+			mSplitRight = node;
+		} else {
+			split(node.right, count - chunks(node.left) - 1);
+			node.right = mSplitLeft;
+			update(node);
+			mSplitLeft = node;
+		}
+		if (mSplitLeft != null) mSplitLeft.parent = null;
+		if (mSplitRight != null) mSplitRight.parent = null;
+	}
+
+	private Chunk merge(Chunk left, Chunk right) {
+		if (left == null) return right;
+		if (right == null) return left;
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			update(left);
+			return left;
+		} else {
+			right.left = merge(left, right.left);
+			update(right);
+			return right;
+		}
+	}
+
+	/**
+	 * Builds in linear time a tree of chunks with the ViewTypes of the items in the same order.
+	 * The chunks are filled at 3/4, so the next insertions do not split them immediately.
+	 */
+	private Chunk build(Collection<? extends IFlexible> items) {
+		if (items.isEmpty()) return null;
+		List<Chunk> stack = new ArrayList<Chunk>();
+		Chunk chunk = null;
+		for (IFlexible item : items) {
+			if (chunk == null || chunk.size == CHUNK_SIZE * 3 / 4) {
+				chunk = new Chunk(mRandom.nextInt());
+				Chunk last = null;
+				while (!stack.isEmpty() && stack.get(stack.size() - 1).priority < chunk.priority) {
+					last = stack.remove(stack.size() - 1);
+				}
+				chunk.left = last;
+				if (!stack.isEmpty()) stack.get(stack.size() - 1).right = chunk;
+				stack.add(chunk);
+			}
+			int ordinal = ordinalOf(item);
+			chunk.types[chunk.size++] = ordinal;
+			chunk.counts = increment(chunk.counts, ordinal, 1);
+		}
+		Chunk root = stack.get(0);
+		computeSubtrees(root);
+		root.parent = null;
+		return root;
+	}
+
+	private void computeSubtrees(Chunk node) {
+		if (node.left != null) computeSubtrees(node.left);
+		if (node.right != null) computeSubtrees(node.right);
+		update(node);
+	}
+
+	private static int collectPositions(Chunk node, int position, int[] ordinals, int[] positions, int size) {
+		if (node == null || count(node.subtreeCounts, ordinals) == 0) return size;
+		size = collectPositions(node.left, position, ordinals, positions, size);
+		position += size(node.left);
+		if (count(node.counts, ordinals) > 0) {
+			for (int i = 0; i < node.size; i++) {
+				if (contains(ordinals, node.types[i])) positions[size++] = position + i;
+			}
+		}
+		return collectPositions(node.right, position + node.size, ordinals, positions, size);
+	}
+
+}